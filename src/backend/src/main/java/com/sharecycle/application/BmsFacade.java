@@ -1,8 +1,11 @@
 package com.sharecycle.application;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -36,7 +39,8 @@ public class BmsFacade {
     private static final Logger logger = LoggerFactory.getLogger(BmsFacade.class);
     private static final double FULL_STATION_COURTESY_CREDIT = 1.00d;
     private static final String FULL_STATION_CREDIT_DESCRIPTION = "Credit issued because the destination station was full.";
-    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final int BLOCKED_RETURN_SUGGESTIONS = 3;
+    private static final int MAX_DETAILS_BATCH = 200;
 
     private final ReserveBikeUseCase reserveBikeUseCase;
     private final StartTripUseCase startTripUseCase;
@@ -52,6 +56,7 @@ public class BmsFacade {
     private final TripRepository tripRepository;
     private final ReservationRepository reservationRepository;
     private final JpaLedgerEntryRepository ledgerEntryRepository;
+    private final StationSummaryReadModel stationSummaryReadModel;
 
     public BmsFacade(ReserveBikeUseCase reserveBikeUseCase,
                      StartTripUseCase startTripUseCase,
@@ -65,7 +70,8 @@ public class BmsFacade {
                      JpaBikeRepository bikeRepository,
                      TripRepository tripRepository,
                      ReservationRepository reservationRepository,
-                     JpaLedgerEntryRepository ledgerEntryRepository) {
+                     JpaLedgerEntryRepository ledgerEntryRepository,
+                     StationSummaryReadModel stationSummaryReadModel) {
         this.reserveBikeUseCase = reserveBikeUseCase;
         this.startTripUseCase = startTripUseCase;
         this.endTripAndBillUseCase = endTripAndBillUseCase;
@@ -79,6 +85,7 @@ public class BmsFacade {
         this.tripRepository = tripRepository;
         this.reservationRepository = reservationRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.stationSummaryReadModel = stationSummaryReadModel;
     }
 
     @Transactional
@@ -160,19 +167,7 @@ public class BmsFacade {
     }
 
     private ReturnBlockInfo resolveBlockedReturn(Trip trip, Station blockedStation) {
-        List<TripCompletionResult.StationSuggestion> suggestions = stationRepository.findAll().stream()
-                .filter(candidate -> !candidate.getId().equals(blockedStation.getId()))
-                .filter(candidate -> !candidate.isOutOfService())
-                .filter(Station::hasFreeDock)
-                .map(candidate -> new TripCompletionResult.StationSuggestion(
-                        candidate.getId(),
-                        candidate.getName(),
-                        candidate.getFreeDockCount(),
-                        Math.round(distanceMeters(blockedStation, candidate))
-                ))
-                .sorted(Comparator.comparingDouble(TripCompletionResult.StationSuggestion::distanceMeters))
-                .limit(3)
-                .toList();
+        List<TripCompletionResult.StationSuggestion> suggestions = nearbyFromIndex(blockedStation);
 
         if (!suggestions.isEmpty()) {
             String message = "Station is full. Try one of the nearby stations.";
@@ -231,20 +226,26 @@ public class BmsFacade {
                 .orElse(null);
     }
 
-    private double distanceMeters(Station origin, Station candidate) {
-        double originLat = Math.toRadians(origin.getLatitude());
-        double originLon = Math.toRadians(origin.getLongitude());
-        double candidateLat = Math.toRadians(candidate.getLatitude());
-        double candidateLon = Math.toRadians(candidate.getLongitude());
-
-        double deltaLat = candidateLat - originLat;
-        double deltaLon = candidateLon - originLon;
-
-        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
-                + Math.cos(originLat) * Math.cos(candidateLat)
-                * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return EARTH_RADIUS_METERS * c;
+    /**
+     * Nearest open stations with a free dock, from the read model's spatial index.
+     */
+    private List<TripCompletionResult.StationSuggestion> nearbyFromIndex(Station blockedStation) {
+        return stationSummaryReadModel.nearest(
+                        blockedStation.getLatitude(),
+                        blockedStation.getLongitude(),
+                        BLOCKED_RETURN_SUGGESTIONS,
+                        candidate -> candidate != null
+                                && !candidate.getStationId().equals(blockedStation.getId())
+                                && candidate.getStatus() != Station.StationStatus.OUT_OF_SERVICE
+                                && candidate.getFreeDocks() > 0)
+                .stream()
+                .map(nearby -> new TripCompletionResult.StationSuggestion(
+                        nearby.station().getStationId(),
+                        nearby.station().getName(),
+                        nearby.station().getFreeDocks(),
+                        Math.round(nearby.distanceMeters())
+                ))
+                .toList();
     }
 
     @Transactional
@@ -275,7 +276,34 @@ public class BmsFacade {
     @Transactional(readOnly = true)
     public StationDetailsDto getStationDetails(UUID stationId, UUID principalUserId) {
         Station station = requireStation(stationId);
-        return toStationDetailsDto(station, principalUserId);
+        return toStationDetailsDto(station, resolveRiderContext(principalUserId));
+    }
+
+    /**
+     * Details for several stations at once, in request order, skipping unknown ids. The
+     * caller's role, active trip and reservation are looked up once for the whole batch, and
+     * the stations come from a single query.
+     */
+    @Transactional(readOnly = true)
+    public List<StationDetailsDto> getStationDetailsBatch(List<UUID> stationIds, UUID principalUserId) {
+        if (stationIds == null || stationIds.isEmpty()) {
+            return List.of();
+        }
+        LinkedHashSet<UUID> requested = new LinkedHashSet<>(stationIds);
+        requested.remove(null);
+        if (requested.size() > MAX_DETAILS_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_DETAILS_BATCH + " stations per batch.");
+        }
+        Map<UUID, Station> stations = new HashMap<>();
+        for (Station station : stationRepository.findAllByIds(requested)) {
+            stations.put(station.getId(), station);
+        }
+        RiderContext context = resolveRiderContext(principalUserId);
+        return requested.stream()
+                .map(stations::get)
+                .filter(Objects::nonNull)
+                .map(station -> toStationDetailsDto(station, context))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -399,15 +427,11 @@ public class BmsFacade {
         }
     }
 
-    private StationDetailsDto toStationDetailsDto(Station station, UUID principalUserId) {
-        List<StationDetailsDto.DockDto> docks = station.getDocks().stream()
-                .map(dock -> new StationDetailsDto.DockDto(
-                        dock.getId(),
-                        dock.getStatus(),
-                        dock.getOccupiedBike() != null ? dock.getOccupiedBike().getId() : null,
-                        dock.getOccupiedBike() != null ? dock.getOccupiedBike().getType() : null
-                ))
-                .toList();
+    /**
+     * What the caller may do at any station, looked up once per request: their role and,
+     * for riders, whether they are on a trip or holding a reservation.
+     */
+    private RiderContext resolveRiderContext(UUID principalUserId) {
         boolean isOperator = false;
         boolean isRider = false;
         if (principalUserId != null) {
@@ -417,6 +441,24 @@ public class BmsFacade {
                 isRider = "RIDER".equalsIgnoreCase(user.getRole());
             }
         }
+        if (!isRider) {
+            return new RiderContext(isOperator, false, false, null);
+        }
+        boolean riderHasActiveTrip = tripRepository.riderHasActiveTrip(principalUserId);
+        Reservation riderReservation = reservationRepository.findByRiderId(principalUserId);
+        return new RiderContext(false, true, riderHasActiveTrip, riderReservation);
+    }
+
+    private StationDetailsDto toStationDetailsDto(Station station, RiderContext context) {
+        List<StationDetailsDto.DockDto> docks = station.getDocks().stream()
+                .map(dock -> new StationDetailsDto.DockDto(
+                        dock.getId(),
+                        dock.getStatus(),
+                        dock.getOccupiedBike() != null ? dock.getOccupiedBike().getId() : null,
+                        dock.getOccupiedBike() != null ? dock.getOccupiedBike().getType() : null
+                ))
+                .toList();
+        boolean isOperator = context.operator();
         boolean stationActive = !station.isOutOfService();
         boolean hasAvailableBike = station.getAvailableBikeCount() > 0;
         boolean hasFreeDock = station.getFreeDockCount() > 0;
@@ -426,11 +468,10 @@ public class BmsFacade {
         boolean canMove = isOperator && stationActive;
         boolean canToggleStatus = isOperator;
 
-        if(isRider && principalUserId != null) {
-            boolean riderHasActiveTrip = tripRepository.riderHasActiveTrip(principalUserId);
-            Reservation riderReservation = reservationRepository.findByRiderId(principalUserId);
+        if (context.rider()) {
+            Reservation riderReservation = context.reservation();
 
-            if (riderHasActiveTrip) {
+            if (context.hasActiveTrip()) {
                 canReserve = false;
                 canStartTrip = false;
                 canReturn = hasFreeDock && stationActive;
@@ -460,5 +501,6 @@ public class BmsFacade {
                 canToggleStatus
         );
     }
-}
 
+    private record RiderContext(boolean operator, boolean rider, boolean hasActiveTrip, Reservation reservation) { }
+}
@@ -166,8 +166,6 @@ public class EndTripAndBillUseCase {
         TripBuilder tripBuilder = new TripBuilder(managedTrip);
         tripBuilder.endAt(managedEndStation, endTime);
         Trip editedTrip = tripBuilder.build();
-        tripRepository.save(editedTrip);
-        eventPublisher.publish(new TripEndedEvent(editedTrip.getTripID()));
 
         double discountRate = 0.0;
         try {
@@ -189,7 +187,17 @@ public class EndTripAndBillUseCase {
             discountRate = 0.0;
         }
 
+        // Set before saving so the trip keeps the rate it was billed with.
         editedTrip.setAppliedDiscountRate(discountRate);
+        tripRepository.save(editedTrip);
+        eventPublisher.publish(new TripEndedEvent(
+                editedTrip.getTripID(),
+                editedTrip.getRider() != null ? editedTrip.getRider().getUserId() : null,
+                tripBike.getId(),
+                tripBike.getType(),
+                managedEndStation.getId(),
+                endTime
+        ));
 
         // SELECT PRICING STRATEGY based on rider plan
         PricingPlan.PlanType planType = resolvePlanType(editedTrip.getRider());
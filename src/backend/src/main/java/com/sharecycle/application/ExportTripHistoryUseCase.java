@@ -0,0 +1,113 @@
+package com.sharecycle.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.repository.TripRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Full trip and billing history for operators, written row by row as CSV or NDJSON while the
+ * rows are read from the database, so an export of any size runs in constant memory.
+ */
+@Service
+public class ExportTripHistoryUseCase {
+
+    static final String CSV_HEADER = "trip_id,rider_id,rider_name,start_station,end_station,start_time,end_time,"
+            + "duration_minutes,bike_type,bike_id,total_cost,ledger_id,ledger_status";
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final TripRepository tripRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ExportTripHistoryUseCase(TripRepository tripRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${sharecycle.trips.export.fetch-size:500}") int fetchSize) {
+        this.tripRepository = tripRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void export(Command command, OutputStream out) throws IOException {
+        Objects.requireNonNull(command, "command must not be null");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        if (command.format() == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            tripRepository.streamHistory(null, command.startTime(), command.endTime(), command.bikeType(), fetchSize,
+                    row -> {
+                        try {
+                            writer.write(command.format() == Format.CSV ? toCsvLine(row) : toJsonLine(row));
+                            writer.write('\n');
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toJsonLine(TripRepository.HistoryRow row) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(row);
+    }
+
+    static String toCsvLine(TripRepository.HistoryRow row) {
+        return String.join(",",
+                csv(row.tripId()),
+                csv(row.riderId()),
+                csv(row.riderName()),
+                csv(row.startStationName()),
+                csv(row.endStationName()),
+                csv(row.startTime()),
+                csv(row.endTime()),
+                Integer.toString(row.durationMinutes()),
+                csv(row.bikeType()),
+                csv(row.bikeId()),
+                Double.toString(row.totalCost()),
+                csv(row.ledgerId()),
+                csv(row.ledgerStatus()));
+    }
+
+    /**
+     * RFC 4180 field: quoted only when it holds a comma, quote or line break. Text that a
+     * spreadsheet would read as a formula gets a leading apostrophe, since names are
+     * rider-controlled.
+     */
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public record Command(LocalDateTime startTime, LocalDateTime endTime, Bike.BikeType bikeType, Format format) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Closest stations with an available bike of the requested type, answered from the read
+ * model's spatial index and the typed availability counts already held in each summary, so
+ * no station or dock is loaded.
+ */
+@Service
+public class FindNearestBikesUseCase {
+
+    static final int MAX_RESULTS = 20;
+
+    private final StationSummaryReadModel readModel;
+
+    public FindNearestBikesUseCase(StationSummaryReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    public List<Result> execute(Command command) {
+        Objects.requireNonNull(command, "command must not be null");
+        int limit = Math.max(1, Math.min(command.limit(), MAX_RESULTS));
+        return readModel.nearest(command.latitude(), command.longitude(), limit,
+                        station -> station != null
+                                && station.getStatus() != Station.StationStatus.OUT_OF_SERVICE
+                                && available(station, command.type()) > 0)
+                .stream()
+                .map(nearby -> new Result(
+                        nearby.station(),
+                        available(nearby.station(), command.type()),
+                        Math.round(nearby.distanceMeters())))
+                .toList();
+    }
+
+    /**
+     * Available bikes of {@code type} at the station; a null type counts every bike.
+     */
+    static int available(StationSummaryDto station, Bike.BikeType type) {
+        if (type == null) {
+            return station.getBikesAvailable();
+        }
+        return switch (type) {
+            case E_BIKE -> station.getEBikesAvailable();
+            case STANDARD -> station.getBikesAvailable() - station.getEBikesAvailable();
+        };
+    }
+
+    /**
+     * @param type bike type wanted, or null for any
+     */
+    public record Command(double latitude, double longitude, Bike.BikeType type, int limit) {
+    }
+
+    public record Result(StationSummaryDto station, int available, double distanceMeters) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.sharecycle.application;
+
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Stations inside a map viewport, answered from the read model's spatial index.
+ * <p>
+ * Below {@code cluster-below-zoom} the stations are grouped on a grid a quarter of a map tile
+ * wide at that zoom; groups of two or more come back as one {@link Cluster} with summed counts
+ * and their centroid, and lone stations come back as themselves.
+ */
+@Service
+public class ListStationsInViewportUseCase {
+
+    private static final int MAX_ZOOM = 22;
+
+    private final StationSummaryReadModel readModel;
+    private final int clusterBelowZoom;
+
+    public ListStationsInViewportUseCase(StationSummaryReadModel readModel,
+                                         @Value("${sharecycle.stations.viewport.cluster-below-zoom:14}") int clusterBelowZoom) {
+        this.readModel = readModel;
+        this.clusterBelowZoom = clusterBelowZoom;
+    }
+
+    public Result execute(Command command) {
+        Objects.requireNonNull(command, "command must not be null");
+        StationSummaryReadModel.Snapshot snapshot = readModel.snapshot();
+
+        List<StationSummaryDto> inside = new ArrayList<>();
+        for (UUID stationId : snapshot.index().within(
+                command.minLatitude(), command.minLongitude(), command.maxLatitude(), command.maxLongitude())) {
+            StationSummaryDto summary = snapshot.byId().get(stationId);
+            if (summary != null) {
+                inside.add(summary);
+            }
+        }
+        inside.sort(Comparator.comparing(StationSummaryDto::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(StationSummaryDto::getStationId));
+
+        if (command.zoom() == null || command.zoom() >= clusterBelowZoom) {
+            return new Result(snapshot.version(), inside, List.of());
+        }
+        return cluster(snapshot.version(), inside, command.zoom());
+    }
+
+    private static Result cluster(long version, List<StationSummaryDto> inside, int zoom) {
+        double cellDegrees = 90d / (1L << Math.max(0, Math.min(zoom, MAX_ZOOM)));
+        Map<Long, List<StationSummaryDto>> groups = new HashMap<>();
+        for (StationSummaryDto summary : inside) {
+            long row = (long) Math.floor(summary.getLatitude() / cellDegrees);
+            long col = (long) Math.floor(summary.getLongitude() / cellDegrees);
+            groups.computeIfAbsent((row << 32) | (col & 0xFFFFFFFFL), ignored -> new ArrayList<>()).add(summary);
+        }
+
+        List<StationSummaryDto> stations = new ArrayList<>();
+        List<Cluster> clusters = new ArrayList<>();
+        for (List<StationSummaryDto> group : groups.values()) {
+            if (group.size() == 1) {
+                stations.add(group.get(0));
+            } else {
+                clusters.add(Cluster.of(group));
+            }
+        }
+        stations.sort(Comparator.comparing(StationSummaryDto::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(StationSummaryDto::getStationId));
+        clusters.sort(Comparator.comparingDouble(Cluster::latitude).thenComparingDouble(Cluster::longitude));
+        return new Result(version, stations, clusters);
+    }
+
+    public record Command(double minLatitude,
+                          double minLongitude,
+                          double maxLatitude,
+                          double maxLongitude,
+                          Integer zoom) {
+    }
+
+    public record Result(long version, List<StationSummaryDto> stations, List<Cluster> clusters) {
+    }
+
+    public record Cluster(double latitude,
+                          double longitude,
+                          int stations,
+                          int bikesAvailable,
+                          int eBikesAvailable,
+                          int freeDocks,
+                          int capacity) {
+
+        static Cluster of(List<StationSummaryDto> group) {
+            double latitude = 0;
+            double longitude = 0;
+            int bikes = 0;
+            int eBikes = 0;
+            int freeDocks = 0;
+            int capacity = 0;
+            for (StationSummaryDto summary : group) {
+                latitude += summary.getLatitude();
+                longitude += summary.getLongitude();
+                bikes += summary.getBikesAvailable();
+                eBikes += summary.getEBikesAvailable();
+                freeDocks += summary.getFreeDocks();
+                capacity += summary.getCapacity();
+            }
+            return new Cluster(latitude / group.size(), longitude / group.size(), group.size(),
+                    bikes, eBikes, freeDocks, capacity);
+        }
+    }
+}
@@ -2,21 +2,19 @@ package com.sharecycle.application;
 
 import com.sharecycle.domain.model.Bike;
 import com.sharecycle.domain.model.LedgerEntry;
-import com.sharecycle.domain.model.Trip;
 import com.sharecycle.domain.model.User;
-import com.sharecycle.domain.repository.JpaLedgerEntryRepository;
+import com.sharecycle.domain.repository.TripRepository;
 import com.sharecycle.infrastructure.persistence.JpaTripRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Service
 public class ListTripsUseCase {
@@ -24,12 +22,12 @@ public class ListTripsUseCase {
     private final Logger logger = LoggerFactory.getLogger(ListTripsUseCase.class);
 
     private final JpaTripRepository jpaTripRepository;
-    private final JpaLedgerEntryRepository ledgerEntryRepository;
+    private final TripHistoryCountCache countCache;
 
     public ListTripsUseCase(JpaTripRepository jpaTripRepository,
-                            JpaLedgerEntryRepository ledgerEntryRepository) {
+                            TripHistoryCountCache countCache) {
         this.jpaTripRepository = jpaTripRepository;
-        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.countCache = countCache;
     }
 
 
@@ -41,108 +39,145 @@ public class ListTripsUseCase {
                                    int pageSize,
                                    String tripIdQueryRaw,
                                    String effectiveRoleValue) {
+        return execute(user, startTime, endTime, bikeType, page, pageSize, tripIdQueryRaw, effectiveRoleValue, false);
+    }
+
+    /**
+     * As above; with {@code approximateTotal} an operator's unsearched history reports a total
+     * from daily counters instead of counting. Other requests always get an exact total.
+     */
+    public TripHistoryPage execute(User user,
+                                   LocalDateTime startTime,
+                                   LocalDateTime endTime,
+                                   Bike.BikeType bikeType,
+                                   int page,
+                                   int pageSize,
+                                   String tripIdQueryRaw,
+                                   String effectiveRoleValue,
+                                   boolean approximateTotal) {
         String role = effectiveRoleValue != null ? effectiveRoleValue : user.getRole();
         int safePage = Math.max(0, page);
         int safePageSize = Math.max(1, pageSize);
         String tripIdQuery = tripIdQueryRaw != null ? tripIdQueryRaw.trim().toLowerCase() : null;
         boolean hasTripIdFilter = tripIdQuery != null && !tripIdQuery.isEmpty();
-        List<Trip> trips;
-        long totalCount;
         boolean riderRequest = "RIDER".equalsIgnoreCase(role);
-        if (hasTripIdFilter) {
-            logger.info("Applying tripId filter to trip history search");
-            List<Trip> scopedTrips;
-            if (!riderRequest) {
-                scopedTrips = jpaTripRepository.findAllWithFilter(startTime, endTime, bikeType);
-            } else {
-                scopedTrips = jpaTripRepository.findAllByUserIdWithFilter(user.getUserId(), startTime, endTime, bikeType);
-            }
-            List<Trip> filtered = scopedTrips.stream()
-                    .filter(trip -> trip.getTripID() != null && trip.getTripID().toString().toLowerCase().contains(tripIdQuery))
-                    .toList();
-            totalCount = filtered.size();
-            int fromIndex = Math.min(safePage * safePageSize, filtered.size());
-            int toIndex = Math.min(fromIndex + safePageSize, filtered.size());
-            trips = filtered.subList(fromIndex, toIndex);
+        UUID riderId = riderRequest ? user.getUserId() : null;
+        List<TripRepository.HistoryRow> rows;
+        long totalCount;
+        boolean approximated = false;
+        if (hasTripIdFilter && !isTripKeyPrefix(tripIdQuery)) {
+            rows = List.of();
+            totalCount = 0;
         } else {
-            if (!riderRequest) {
+            String tripKeyPrefix = hasTripIdFilter ? tripIdQuery : null;
+            if (hasTripIdFilter) {
+                logger.info("Applying tripId prefix filter to trip history search");
+            } else if (!riderRequest) {
                 logger.info("User is an operator, finding all trips");
-                trips = jpaTripRepository.findAllWithFilterPaged(startTime, endTime, bikeType, safePage, safePageSize);
-                totalCount = jpaTripRepository.countAllWithFilter(startTime, endTime, bikeType);
             } else {
                 logger.info("User is a rider, finding all trips by this rider");
-                trips = jpaTripRepository.findAllByUserIdWithFilterPaged(user.getUserId(), startTime, endTime, bikeType, safePage, safePageSize);
-                totalCount = jpaTripRepository.countAllByUserIdWithFilter(user.getUserId(), startTime, endTime, bikeType);
             }
+            rows = jpaTripRepository.findHistoryPage(riderId, startTime, endTime, bikeType, tripKeyPrefix,
+                    safePage, safePageSize);
+            approximated = approximateTotal && riderId == null && tripKeyPrefix == null;
+            totalCount = approximated
+                    ? countCache.approximateCount(startTime, endTime, bikeType)
+                    : countCache.count(riderId, startTime, endTime, bikeType, tripKeyPrefix);
         }
 
-        List<Trip> orderedTrips = sortTripsLatestFirst(trips);
-        List<TripHistoryEntry> entries;
-        if (orderedTrips.isEmpty()) {
-            entries = List.of();
-        } else {
-            Map<UUID, LedgerEntry> ledgerEntriesByTripId = ledgerEntryRepository.findAllByTripIds(
-                            orderedTrips.stream()
-                                    .map(Trip::getTripID)
-                                    .toList())
-                    .stream()
-                    .filter(entry -> entry.getTrip() != null && entry.getTrip().getTripID() != null)
-                    .collect(Collectors.toMap(entry -> entry.getTrip().getTripID(), Function.identity(), (existing, replacement) -> replacement));
-
-            boolean includeBilling = true;
-            entries = orderedTrips.stream()
-                    .map(trip -> toHistoryEntry(trip, ledgerEntriesByTripId.get(trip.getTripID()), includeBilling))
-                    .toList();
-        }
+        List<TripHistoryEntry> entries = toHistoryEntries(rows);
 
         int totalPages = safePageSize <= 0 ? 0 : (int) Math.ceil(totalCount / (double) safePageSize);
         boolean hasNext = safePage < totalPages - 1;
         boolean hasPrevious = safePage > 0;
-        return new TripHistoryPage(entries, safePage, safePageSize, totalCount, totalPages, hasNext, hasPrevious);
+        return new TripHistoryPage(entries, safePage, safePageSize, totalCount, totalPages, hasNext, hasPrevious,
+                approximated);
     }
 
-    private List<Trip> sortTripsLatestFirst(List<Trip> trips) {
-        if (trips == null || trips.isEmpty()) {
-            return List.of();
+    /**
+     * Keyset-paged history: each page seeks past the last trip of the previous one, so deep
+     * pages cost the same as the first. {@code cursor} is the previous page's
+     * {@code nextCursor}, or null or blank for the first page. The total is counted only when
+     * {@code includeTotal} is set.
+     */
+    public TripHistoryCursorPage executeAfterCursor(User user,
+                                                    LocalDateTime startTime,
+                                                    LocalDateTime endTime,
+                                                    Bike.BikeType bikeType,
+                                                    String tripIdQueryRaw,
+                                                    String cursor,
+                                                    int pageSize,
+                                                    boolean includeTotal,
+                                                    String effectiveRoleValue) {
+        String role = effectiveRoleValue != null ? effectiveRoleValue : user.getRole();
+        UUID riderId = "RIDER".equalsIgnoreCase(role) ? user.getUserId() : null;
+        int safePageSize = Math.max(1, pageSize);
+        TripRepository.SeekPosition after = decodeCursor(cursor);
+        String tripIdQuery = tripIdQueryRaw != null && !tripIdQueryRaw.isBlank() ? tripIdQueryRaw.trim().toLowerCase() : null;
+        if (tripIdQuery != null && !isTripKeyPrefix(tripIdQuery)) {
+            return new TripHistoryCursorPage(List.of(), safePageSize, null, includeTotal ? 0L : null);
+        }
+
+        List<TripRepository.HistoryRow> fetched = jpaTripRepository.findHistoryPageAfter(riderId, startTime, endTime,
+                bikeType, tripIdQuery, after, safePageSize + 1);
+        boolean hasNext = fetched.size() > safePageSize;
+        List<TripRepository.HistoryRow> rows = hasNext ? fetched.subList(0, safePageSize) : fetched;
+        String nextCursor = hasNext ? encodeCursor(rows.get(rows.size() - 1)) : null;
+
+        Long totalItems = null;
+        if (includeTotal) {
+            totalItems = countCache.count(riderId, startTime, endTime, bikeType, tripIdQuery);
+        }
+        return new TripHistoryCursorPage(toHistoryEntries(rows), safePageSize, nextCursor, totalItems);
+    }
+
+    /**
+     * Whether a lower-cased search term can begin a trip id. Anything else matches nothing, which
+     * also keeps LIKE wildcards out of the query.
+     */
+    static boolean isTripKeyPrefix(String query) {
+        return query.length() <= 36 && query.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || c == '-');
+    }
+
+    static String encodeCursor(TripRepository.HistoryRow row) {
+        String raw = row.endTime() + "|" + row.startTime() + "|" + row.tripId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TripRepository.SeekPosition decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new TripRepository.SeekPosition(
+                    LocalDateTime.parse(parts[0]), LocalDateTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor.", ex);
         }
-        Comparator<Trip> comparator = Comparator
-                .comparing(
-                        Trip::getEndTime,
-                        Comparator.nullsLast(Comparator.reverseOrder())
-                )
-                .thenComparing(
-                        Trip::getStartTime,
-                        Comparator.nullsLast(Comparator.reverseOrder())
-                );
-        return trips.stream()
-                .sorted(comparator)
-                .toList();
     }
 
-    private TripHistoryEntry toHistoryEntry(Trip trip, LedgerEntry ledgerEntry, boolean includeBilling) {
-        var rider = trip.getRider();
-        var startStation = trip.getStartStation();
-        var endStation = trip.getEndStation();
-        double totalCost = includeBilling && ledgerEntry != null && ledgerEntry.getBill() != null
-                ? ledgerEntry.getBill().getTotalCost()
-                : 0.0;
-        UUID ledgerId = includeBilling && ledgerEntry != null ? ledgerEntry.getLedgerId() : null;
-        LedgerEntry.LedgerStatus ledgerStatus = includeBilling && ledgerEntry != null ? ledgerEntry.getLedgerStatus() : null;
-        return new TripHistoryEntry(
-                trip.getTripID(),
-                rider != null ? rider.getUserId() : null,
-                rider != null && rider.getFullName() != null ? rider.getFullName() : rider != null ? rider.getUsername() : null,
-                startStation != null ? startStation.getName() : null,
-                endStation != null ? endStation.getName() : null,
-                trip.getStartTime(),
-                trip.getEndTime(),
-                trip.getDurationMinutes(),
-                trip.getBike() != null ? trip.getBike().getType() : null,
-                trip.getBike() != null ? trip.getBike().getId() : null,
-                totalCost,
-                ledgerId,
-                ledgerStatus
-        );
+    private static List<TripHistoryEntry> toHistoryEntries(List<TripRepository.HistoryRow> rows) {
+        return rows.stream()
+                .map(row -> new TripHistoryEntry(
+                        row.tripId(),
+                        row.riderId(),
+                        row.riderName(),
+                        row.startStationName(),
+                        row.endStationName(),
+                        row.startTime(),
+                        row.endTime(),
+                        row.durationMinutes(),
+                        row.bikeType(),
+                        row.bikeId(),
+                        row.totalCost(),
+                        row.ledgerId(),
+                        row.ledgerStatus()))
+                .toList();
     }
 
     public record TripHistoryEntry(
@@ -162,6 +197,18 @@ public class ListTripsUseCase {
     ) {
     }
 
+    /**
+     * One keyset page; {@code nextCursor} is null on the last page and {@code totalItems} is
+     * null unless it was asked for.
+     */
+    public record TripHistoryCursorPage(
+            List<TripHistoryEntry> entries,
+            int pageSize,
+            String nextCursor,
+            Long totalItems
+    ) {
+    }
+
     public record TripHistoryPage(
             List<TripHistoryEntry> entries,
             int page,
@@ -169,7 +216,8 @@ public class ListTripsUseCase {
             long totalItems,
             int totalPages,
             boolean hasNext,
-            boolean hasPrevious
+            boolean hasPrevious,
+            boolean approximateTotal
     ) {
     }
 }
@@ -2,6 +2,8 @@ package com.sharecycle.application;
 
 import com.sharecycle.domain.model.User;
 import com.sharecycle.domain.repository.UserRepository;
+import com.sharecycle.infrastructure.StationChangeTracker;
+import com.sharecycle.infrastructure.TripChangeTracker;
 import com.sharecycle.service.SeedDataLoader;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -16,14 +18,20 @@ public class ResetSystemUseCase {
 
     private final UserRepository userRepository;
     private final SeedDataLoader seedDataLoader;
+    private final StationChangeTracker stationChangeTracker;
+    private final TripChangeTracker tripChangeTracker;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     public ResetSystemUseCase(UserRepository userRepository,
-                              SeedDataLoader seedDataLoader) {
+                              SeedDataLoader seedDataLoader,
+                              StationChangeTracker stationChangeTracker,
+                              TripChangeTracker tripChangeTracker) {
         this.userRepository = userRepository;
         this.seedDataLoader = seedDataLoader;
+        this.stationChangeTracker = stationChangeTracker;
+        this.tripChangeTracker = tripChangeTracker;
     }
 
     @Transactional
@@ -31,6 +39,10 @@ public class ResetSystemUseCase {
         Objects.requireNonNull(operatorId, "operatorId must not be null");
         requireOperator(operatorId);
         clearMutableTables();
+        // Bulk deletes skip entity callbacks and publish no events, so read models and trip
+        // history counts must start over.
+        stationChangeTracker.invalidateAll();
+        tripChangeTracker.invalidateAll();
         SeedDataLoader.SeedResult result = seedDataLoader.reloadFromSeedFiles();
         return new ResetSummary(result.bikes(), result.stations(), result.docks());
     }
@@ -47,6 +59,8 @@ public class ResetSystemUseCase {
     }
 
     private void clearMutableTables() {
+        entityManager.createQuery("delete from JpaArchivedLedgerEntryEntity").executeUpdate();
+        entityManager.createQuery("delete from JpaArchivedTripEntity").executeUpdate();
         entityManager.createQuery("delete from JpaLedgerEntryEntity").executeUpdate();
         entityManager.createQuery("delete from JpaReservationEntity").executeUpdate();
         entityManager.createQuery("delete from JpaTripEntity").executeUpdate();
@@ -0,0 +1,367 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.PayAsYouGoStrategy;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.PricingPlan;
+import com.sharecycle.domain.repository.TripRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Answers "what would revenue have been under these plans?" by re-pricing every completed
+ * trip, live and archived, under each candidate plan.
+ * <p>
+ * Trips are read once into fixed-size chunks of primitive columns (duration, e-bike and
+ * operator flags, discount rate) without building {@code Trip} objects. Each full chunk is
+ * handed to a fork/join pool while the scan keeps reading; the pool splits the chunk into
+ * ranges and prices each range under every plan, merging per-range totals and histograms up
+ * the task tree. Finished chunks are folded into the running totals, and the scan waits for
+ * the oldest chunk once too many are in flight, so memory stays bounded however many trips
+ * there are. Per-trip costs use billing's own arithmetic: {@link PayAsYouGoStrategy} for
+ * pay-as-you-go plans and nothing for monthly subscribers, whose fee is not charged per trip.
+ * <p>
+ * Only one simulation runs at a time; another request while one is running is rejected.
+ */
+@Service
+public class SimulatePricingUseCase {
+
+    static final int MAX_PLANS = 16;
+    static final int MAX_BUCKETS = 200;
+
+    /**
+     * Trips priced by one task without splitting further; large enough that task overhead is
+     * noise, small enough that a range's columns stay in cache across all plans.
+     */
+    private static final int LEAF_TRIPS = 1 << 15;
+
+    /**
+     * Trips read before a chunk is handed to the pool.
+     */
+    static final int CHUNK_TRIPS = 1 << 17;
+
+    private final TripRepository tripRepository;
+    private final ForkJoinPool pool;
+    private final int fetchSize;
+    private final int maxChunksInFlight;
+    private final Semaphore running = new Semaphore(1);
+
+    public SimulatePricingUseCase(TripRepository tripRepository,
+                                  @Value("${sharecycle.pricing.simulation.parallelism:0}") int parallelism,
+                                  @Value("${sharecycle.pricing.simulation.fetch-size:5000}") int fetchSize) {
+        this.tripRepository = tripRepository;
+        // A pool of its own, so a long simulation does not starve other users of the common pool.
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.fetchSize = fetchSize;
+        // Enough to keep every worker busy while the scan fills the next chunk.
+        this.maxChunksInFlight = pool.getParallelism() * 2;
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    public Result execute(Command command) {
+        validate(command);
+        if (!running.tryAcquire()) {
+            throw new IllegalStateException("A pricing simulation is already running.");
+        }
+        try {
+            return simulate(command);
+        } finally {
+            running.release();
+        }
+    }
+
+    private Result simulate(Command command) {
+        PricingPlan[] plans = command.plans().toArray(new PricingPlan[0]);
+        ChunkedPricing pricing = new ChunkedPricing(plans, command.bucketWidth(), command.buckets());
+        long began = System.nanoTime();
+        try {
+            tripRepository.scanPricingInputs(fetchSize, (minutes, bikeType, riderRole, discountRate) ->
+                    pricing.add(minutes, bikeType == Bike.BikeType.E_BIKE, "OPERATOR".equals(riderRole),
+                            discountRate));
+        } catch (RuntimeException ex) {
+            pricing.cancel();
+            throw ex;
+        }
+        long loaded = System.nanoTime();
+        Totals totals = pricing.finish();
+        long priced = System.nanoTime();
+
+        List<PlanResult> results = new ArrayList<>(plans.length);
+        for (int p = 0; p < plans.length; p++) {
+            results.add(toPlanResult(plans[p], pricing.trips(), totals, p, command.bucketWidth()));
+        }
+        return new Result(pricing.trips(), command.bucketWidth(), results,
+                (loaded - began) / 1_000_000, (priced - loaded) / 1_000_000);
+    }
+
+    private static void validate(Command command) {
+        Objects.requireNonNull(command, "command must not be null");
+        if (command.plans() == null || command.plans().isEmpty()) {
+            throw new IllegalArgumentException("At least one plan is required.");
+        }
+        if (command.plans().size() > MAX_PLANS) {
+            throw new IllegalArgumentException("At most " + MAX_PLANS + " plans can be simulated at once.");
+        }
+        for (PricingPlan plan : command.plans()) {
+            if (plan == null || plan.getType() == null) {
+                throw new IllegalArgumentException("Every plan needs a plan type.");
+            }
+            Double surcharge = plan.getEBikeSurchargePerMinute();
+            if (plan.getBaseCost() < 0 || plan.getPerMinuteRate() < 0 || (surcharge != null && surcharge < 0)) {
+                throw new IllegalArgumentException("Plan rates must not be negative.");
+            }
+        }
+        if (!(command.bucketWidth() > 0) || Double.isInfinite(command.bucketWidth())) {
+            throw new IllegalArgumentException("bucketWidth must be greater than 0.");
+        }
+        if (command.buckets() < 1 || command.buckets() > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + MAX_BUCKETS + ".");
+        }
+    }
+
+    private static PlanResult toPlanResult(PricingPlan plan, int tripCount, Totals totals, int p, double bucketWidth) {
+        long[] counts = totals.histograms[p];
+        List<Bucket> histogram = new ArrayList<>(counts.length);
+        for (int b = 0; b < counts.length; b++) {
+            Double to = b < counts.length - 1 ? roundCurrency((b + 1) * bucketWidth) : null;
+            histogram.add(new Bucket(roundCurrency(b * bucketWidth), to, counts[b]));
+        }
+        double revenue = totals.revenue[p];
+        return new PlanResult(
+                plan.getName(),
+                plan.getType(),
+                roundCurrency(revenue),
+                tripCount > 0 ? roundCurrency(revenue / tripCount) : 0.0,
+                roundCurrency(totals.maxCost[p]),
+                histogram
+        );
+    }
+
+    private static double roundCurrency(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Reads trips into chunks on the scanning thread and prices full chunks on the pool. Not
+     * thread-safe; one instance serves one simulation.
+     */
+    private final class ChunkedPricing {
+        private final PricingPlan[] plans;
+        private final double bucketWidth;
+        private final int buckets;
+        private final Totals totals;
+        private final Deque<ForkJoinTask<Totals>> inFlight = new ArrayDeque<>();
+        private TripColumns chunk = new TripColumns(CHUNK_TRIPS);
+        private int trips;
+
+        ChunkedPricing(PricingPlan[] plans, double bucketWidth, int buckets) {
+            this.plans = plans;
+            this.bucketWidth = bucketWidth;
+            this.buckets = buckets;
+            this.totals = new Totals(plans.length, buckets);
+        }
+
+        void add(int durationMinutes, boolean eBike, boolean operatorRider, double discountRate) {
+            chunk.add(durationMinutes, eBike, operatorRider, discountRate);
+            trips++;
+            if (chunk.isFull()) {
+                submitChunk();
+            }
+        }
+
+        Totals finish() {
+            if (chunk.size() > 0) {
+                submitChunk();
+            }
+            while (!inFlight.isEmpty()) {
+                totals.add(inFlight.removeFirst().join());
+            }
+            return totals;
+        }
+
+        void cancel() {
+            for (ForkJoinTask<Totals> task : inFlight) {
+                task.cancel(false);
+            }
+            inFlight.clear();
+        }
+
+        int trips() {
+            return trips;
+        }
+
+        private void submitChunk() {
+            if (inFlight.size() >= maxChunksInFlight) {
+                totals.add(inFlight.removeFirst().join());
+            }
+            inFlight.addLast(pool.submit(new PriceRange(chunk, plans, bucketWidth, buckets, 0, chunk.size())));
+            chunk = new TripColumns(CHUNK_TRIPS);
+        }
+    }
+
+    /**
+     * A chunk of completed trips as parallel arrays, filled by the scan and read-only once
+     * submitted.
+     */
+    static final class TripColumns {
+        private static final byte E_BIKE = 1;
+        private static final byte OPERATOR = 2;
+
+        private final int[] minutes;
+        private final byte[] flags;
+        private final double[] discountRates;
+        private int size;
+
+        TripColumns(int capacity) {
+            minutes = new int[capacity];
+            flags = new byte[capacity];
+            discountRates = new double[capacity];
+        }
+
+        void add(int durationMinutes, boolean eBike, boolean operatorRider, double discountRate) {
+            minutes[size] = durationMinutes;
+            flags[size] = (byte) ((eBike ? E_BIKE : 0) | (operatorRider ? OPERATOR : 0));
+            discountRates[size] = discountRate;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == minutes.length;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Per-plan revenue, highest trip cost and cost histogram for a range of trips.
+     */
+    private static final class Totals {
+        final double[] revenue;
+        final double[] maxCost;
+        final long[][] histograms;
+
+        Totals(int plans, int buckets) {
+            revenue = new double[plans];
+            maxCost = new double[plans];
+            histograms = new long[plans][buckets];
+        }
+
+        Totals add(Totals other) {
+            for (int p = 0; p < revenue.length; p++) {
+                revenue[p] += other.revenue[p];
+                maxCost[p] = Math.max(maxCost[p], other.maxCost[p]);
+                long[] histogram = histograms[p];
+                long[] otherHistogram = other.histograms[p];
+                for (int b = 0; b < histogram.length; b++) {
+                    histogram[b] += otherHistogram[b];
+                }
+            }
+            return this;
+        }
+    }
+
+    private static final class PriceRange extends RecursiveTask<Totals> {
+        private final TripColumns trips;
+        private final PricingPlan[] plans;
+        private final double bucketWidth;
+        private final int buckets;
+        private final int from;
+        private final int to;
+
+        PriceRange(TripColumns trips, PricingPlan[] plans, double bucketWidth, int buckets, int from, int to) {
+            this.trips = trips;
+            this.plans = plans;
+            this.bucketWidth = bucketWidth;
+            this.buckets = buckets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= LEAF_TRIPS) {
+                return priceRange();
+            }
+            int mid = (from + to) >>> 1;
+            PriceRange left = new PriceRange(trips, plans, bucketWidth, buckets, from, mid);
+            left.fork();
+            Totals right = new PriceRange(trips, plans, bucketWidth, buckets, mid, to).compute();
+            return right.add(left.join());
+        }
+
+        private Totals priceRange() {
+            Totals totals = new Totals(plans.length, buckets);
+            int[] minutes = trips.minutes;
+            byte[] flags = trips.flags;
+            double[] discountRates = trips.discountRates;
+            for (int p = 0; p < plans.length; p++) {
+                PricingPlan plan = plans[p];
+                long[] histogram = totals.histograms[p];
+                if (plan.getType() == PricingPlan.PlanType.MONTHLY_SUBSCRIBER) {
+                    histogram[0] += to - from;
+                    continue;
+                }
+                double revenue = 0.0;
+                double maxCost = 0.0;
+                for (int i = from; i < to; i++) {
+                    double cost = PayAsYouGoStrategy.totalCost(plan,
+                            minutes[i],
+                            (flags[i] & TripColumns.E_BIKE) != 0,
+                            (flags[i] & TripColumns.OPERATOR) != 0,
+                            discountRates[i]);
+                    revenue += cost;
+                    maxCost = Math.max(maxCost, cost);
+                    histogram[Math.min((int) (cost / bucketWidth), buckets - 1)]++;
+                }
+                totals.revenue[p] = revenue;
+                totals.maxCost[p] = maxCost;
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * {@code buckets} histogram buckets of {@code bucketWidth} dollars each; the last one also
+     * holds every higher cost.
+     */
+    public record Command(List<PricingPlan> plans, double bucketWidth, int buckets) {
+    }
+
+    /**
+     * {@code loadMillis} covers reading trips, with pricing running alongside; {@code priceMillis}
+     * is the pricing still left once the read finished.
+     */
+    public record Result(int trips, double bucketWidth, List<PlanResult> plans, long loadMillis, long priceMillis) {
+    }
+
+    public record PlanResult(String name,
+                             PricingPlan.PlanType type,
+                             double revenue,
+                             double averageCost,
+                             double maxCost,
+                             List<Bucket> histogram) {
+    }
+
+    /**
+     * Trips costing at least {@code from} and less than {@code to}; {@code to} is null on the
+     * open-ended last bucket.
+     */
+    public record Bucket(double from, Double to, long trips) {
+    }
+}
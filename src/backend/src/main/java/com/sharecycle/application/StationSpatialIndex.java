@@ -0,0 +1,234 @@
+package com.sharecycle.application;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Immutable grid over station coordinates for k-nearest lookups.
+ * <p>
+ * Stations are bucketed into square cells of {@code cellDegrees} on a side. A query walks
+ * rings of cells outward from the query point's cell and stops once the closest point any
+ * further ring could hold is farther than the k-th best match so far, so only a few cells are
+ * examined however large the network is. Rings only visit cells inside the occupied bounds,
+ * and a query so far from the network that it would need more rings than there are occupied
+ * cells scans those cells directly instead. Distances are great-circle metres. Cells are not
+ * wrapped across the antimeridian, which no single network spans.
+ */
+public final class StationSpatialIndex {
+
+    static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180d;
+
+    private static final StationSpatialIndex EMPTY = new StationSpatialIndex(1d, Map.of(), 0, 0, 0, 0, 0);
+
+    private final double cellDegrees;
+    private final Map<Long, Point[]> cells;
+    private final int minRow;
+    private final int maxRow;
+    private final int minCol;
+    private final int maxCol;
+    private final int size;
+
+    private StationSpatialIndex(double cellDegrees, Map<Long, Point[]> cells,
+                                int minRow, int maxRow, int minCol, int maxCol, int size) {
+        this.cellDegrees = cellDegrees;
+        this.cells = cells;
+        this.minRow = minRow;
+        this.maxRow = maxRow;
+        this.minCol = minCol;
+        this.maxCol = maxCol;
+        this.size = size;
+    }
+
+    public static StationSpatialIndex build(Collection<Point> points, double cellDegrees) {
+        if (points.isEmpty()) {
+            return EMPTY;
+        }
+        double cell = cellDegrees > 0 ? cellDegrees : 0.01d;
+        Map<Long, List<Point>> buckets = new HashMap<>();
+        int minRow = Integer.MAX_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        int minCol = Integer.MAX_VALUE;
+        int maxCol = Integer.MIN_VALUE;
+        for (Point point : points) {
+            int row = cellOf(point.latitude(), cell);
+            int col = cellOf(point.longitude(), cell);
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+            buckets.computeIfAbsent(key(row, col), ignored -> new ArrayList<>()).add(point);
+        }
+        Map<Long, Point[]> cells = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, bucket) -> cells.put(key, bucket.toArray(Point[]::new)));
+        return new StationSpatialIndex(cell, cells, minRow, maxRow, minCol, maxCol, points.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Up to {@code limit} accepted stations closest to the given point, nearest first.
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int limit, Predicate<UUID> accept) {
+        if (limit <= 0 || size == 0) {
+            return List.of();
+        }
+        // Max-heap on distance holding the best matches so far.
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(limit + 1,
+                (a, b) -> Double.compare(b.distanceMeters(), a.distanceMeters()));
+        long row = cellOf(latitude, cellDegrees);
+        long col = cellOf(longitude, cellDegrees);
+        long lastRing = Math.max(
+                Math.max(Math.abs(row - minRow), Math.abs(maxRow - row)),
+                Math.max(Math.abs(col - minCol), Math.abs(maxCol - col)));
+
+        if (lastRing >= cells.size()) {
+            for (Point[] cell : cells.values()) {
+                offer(cell, latitude, longitude, limit, accept, best);
+            }
+        } else {
+            for (int ring = 0; ring <= lastRing; ring++) {
+                if (best.size() == limit && ringLowerBound(latitude, ring) > best.peek().distanceMeters()) {
+                    break;
+                }
+                int fromRow = (int) Math.max(minRow, row - ring);
+                int toRow = (int) Math.min(maxRow, row + ring);
+                int fromCol = (int) Math.max(minCol, col - ring);
+                int toCol = (int) Math.min(maxCol, col + ring);
+                for (int r = fromRow; r <= toRow; r++) {
+                    if (r == row - ring || r == row + ring) {
+                        for (int c = fromCol; c <= toCol; c++) {
+                            offer(cells.get(key(r, c)), latitude, longitude, limit, accept, best);
+                        }
+                        continue;
+                    }
+                    // Inner rows of a ring hold only its two side columns.
+                    if (col - ring >= minCol && col - ring <= maxCol) {
+                        offer(cells.get(key(r, (int) (col - ring))), latitude, longitude, limit, accept, best);
+                    }
+                    if (ring > 0 && col + ring >= minCol && col + ring <= maxCol) {
+                        offer(cells.get(key(r, (int) (col + ring))), latitude, longitude, limit, accept, best);
+                    }
+                }
+            }
+        }
+        List<Neighbor> ordered = new ArrayList<>(best);
+        ordered.sort((a, b) -> Double.compare(a.distanceMeters(), b.distanceMeters()));
+        return ordered;
+    }
+
+    private static void offer(Point[] cell, double latitude, double longitude, int limit,
+                              Predicate<UUID> accept, PriorityQueue<Neighbor> best) {
+        if (cell == null) {
+            return;
+        }
+        for (Point point : cell) {
+            if (!accept.test(point.stationId())) {
+                continue;
+            }
+            double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+            if (best.size() < limit) {
+                best.add(new Neighbor(point.stationId(), distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Neighbor(point.stationId(), distance));
+            }
+        }
+    }
+
+    /**
+     * Stations whose coordinates fall inside the box, edges included, in no particular order.
+     * Only the cells overlapping the box are visited, or every occupied cell when that is
+     * fewer.
+     */
+    public List<UUID> within(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        if (size == 0 || minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            return List.of();
+        }
+        int fromRow = Math.max(minRow, cellOf(minLatitude, cellDegrees));
+        int toRow = Math.min(maxRow, cellOf(maxLatitude, cellDegrees));
+        int fromCol = Math.max(minCol, cellOf(minLongitude, cellDegrees));
+        int toCol = Math.min(maxCol, cellOf(maxLongitude, cellDegrees));
+        if (fromRow > toRow || fromCol > toCol) {
+            return List.of();
+        }
+        List<UUID> found = new ArrayList<>();
+        long spanned = (long) (toRow - fromRow + 1) * (toCol - fromCol + 1);
+        if (spanned > cells.size()) {
+            for (Point[] cell : cells.values()) {
+                collectWithin(cell, minLatitude, minLongitude, maxLatitude, maxLongitude, found);
+            }
+            return found;
+        }
+        for (int r = fromRow; r <= toRow; r++) {
+            for (int c = fromCol; c <= toCol; c++) {
+                Point[] cell = cells.get(key(r, c));
+                if (cell != null) {
+                    collectWithin(cell, minLatitude, minLongitude, maxLatitude, maxLongitude, found);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static void collectWithin(Point[] cell, double minLatitude, double minLongitude,
+                                      double maxLatitude, double maxLongitude, List<UUID> found) {
+        for (Point point : cell) {
+            if (point.latitude() >= minLatitude && point.latitude() <= maxLatitude
+                    && point.longitude() >= minLongitude && point.longitude() <= maxLongitude) {
+                found.add(point.stationId());
+            }
+        }
+    }
+
+    /**
+     * Closest any point in {@code ring} can be: at least {@code ring - 1} whole cells away along
+     * one axis, with longitude degrees measured at the widest latitude the ring reaches.
+     */
+    private double ringLowerBound(double latitude, int ring) {
+        if (ring <= 1) {
+            return 0d;
+        }
+        double degrees = (ring - 1) * cellDegrees;
+        double farthestLatitude = Math.min(90d, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double shrink = Math.cos(Math.toRadians(farthestLatitude));
+        return degrees * METERS_PER_DEGREE * shrink;
+    }
+
+    public static double distanceMeters(double originLatitude, double originLongitude,
+                                        double targetLatitude, double targetLongitude) {
+        double originLat = Math.toRadians(originLatitude);
+        double targetLat = Math.toRadians(targetLatitude);
+        double deltaLat = targetLat - originLat;
+        double deltaLon = Math.toRadians(targetLongitude - originLongitude);
+
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(originLat) * Math.cos(targetLat)
+                * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_METERS * c;
+    }
+
+    private static int cellOf(double degrees, double cellDegrees) {
+        // Saturates rather than wraps for coordinates far outside the valid range.
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE - 1, Math.floor(degrees / cellDegrees)));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public record Point(UUID stationId, double latitude, double longitude) {
+    }
+
+    public record Neighbor(UUID stationId, double distanceMeters) {
+    }
+}
@@ -0,0 +1,264 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.repository.JpaStationRepository;
+import com.sharecycle.infrastructure.StationChangeTracker;
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Station summaries held in memory as an immutable, versioned snapshot.
+ * <p>
+ * Readers take the current snapshot without locking or touching the database. Committed
+ * writes to stations, docks and bikes mark their station dirty in the
+ * {@link StationChangeTracker}; the next read reloads just those stations, publishes a new
+ * snapshot with a higher version and returns it. The first read, and any read after
+ * {@link StationChangeTracker#invalidateAll()}, rebuilds the whole snapshot. Both load
+ * summary rows computed by the database rather than hydrating stations with their docks.
+ * <p>
+ * Each station carries the version at which its summary last changed, and removed stations
+ * leave a tombstone, so {@link #changesSince(long)} can answer with just the difference. A
+ * reload that leaves every summary as it was keeps the current version. Full rebuilds start
+ * a new base version no lower than the wall clock in milliseconds, which keeps versions
+ * increasing across restarts so a client's stale version never matches a fresh snapshot.
+ * <p>
+ * Every snapshot also carries a {@link StationSpatialIndex} over station coordinates. A
+ * patch reuses the previous index unless a station was added, removed or moved, so dock and
+ * capacity changes never rebuild it.
+ * <p>
+ * The snapshot is built once at startup, after the seeders, so the first request after a
+ * deploy does not pay for the load.
+ */
+@Service
+public class StationSummaryReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(StationSummaryReadModel.class);
+
+    private final JpaStationRepository stationRepository;
+    private final StationChangeTracker changeTracker;
+    private final double cellDegrees;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public StationSummaryReadModel(JpaStationRepository stationRepository,
+                                   StationChangeTracker changeTracker,
+                                   @Value("${sharecycle.stations.index.cell-degrees:0.01}") double cellDegrees) {
+        this.stationRepository = stationRepository;
+        this.changeTracker = changeTracker;
+        this.cellDegrees = cellDegrees;
+    }
+
+    // Runs after the data seeders so the first snapshot sees the seeded fleet.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        long began = System.nanoTime();
+        Snapshot warmed = rebuild();
+        logger.info("station summaries warmed in {} ms: {} stations at version {}",
+                (System.nanoTime() - began) / 1_000_000, warmed.stations().size(), warmed.version());
+    }
+
+    public List<StationSummaryDto> list() {
+        return current().stations();
+    }
+
+    public Optional<StationSummaryDto> find(UUID stationId) {
+        return Optional.ofNullable(current().byId().get(stationId));
+    }
+
+    /**
+     * Version of the snapshot a read would return now; bumps whenever any station changes.
+     */
+    public long version() {
+        return current().version();
+    }
+
+    /**
+     * Replaces the snapshot with a fresh load of every station.
+     */
+    public Snapshot rebuild() {
+        refreshLock.lock();
+        try {
+            changeTracker.drain();
+            Snapshot rebuilt = build(stationRepository.findAllSummaries(), nextVersion());
+            snapshot = rebuilt;
+            return rebuilt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * The current snapshot, so a caller can read its version and contents consistently.
+     */
+    public Snapshot snapshot() {
+        return current();
+    }
+
+    /**
+     * Stations whose summary changed after {@code since}, plus stations removed after it. When
+     * {@code since} predates the current base version or is not one this model issued, the
+     * answer is the full list.
+     */
+    public Changes changesSince(long since) {
+        Snapshot current = current();
+        if (since < current.baseVersion() || since > current.version()) {
+            return new Changes(current.version(), true, current.stations(), List.of());
+        }
+        List<StationSummaryDto> changed = current.stations().stream()
+                .filter(summary -> current.stationVersions().get(summary.getStationId()) > since)
+                .toList();
+        List<UUID> removed = current.removed().entrySet().stream()
+                .filter(entry -> entry.getValue() > since)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new Changes(current.version(), false, changed, removed);
+    }
+
+    /**
+     * Up to {@code limit} stations nearest to the given point that pass {@code filter},
+     * nearest first.
+     */
+    public List<NearbyStation> nearest(double latitude, double longitude, int limit,
+                                       Predicate<StationSummaryDto> filter) {
+        Snapshot current = current();
+        return current.index().nearest(latitude, longitude, limit,
+                        stationId -> filter.test(current.byId().get(stationId)))
+                .stream()
+                .map(neighbor -> new NearbyStation(current.byId().get(neighbor.stationId()), neighbor.distanceMeters()))
+                .toList();
+    }
+
+    Snapshot current() {
+        Snapshot existing = snapshot;
+        if (existing != null && changeTracker.isClean()) {
+            return existing;
+        }
+        refreshLock.lock();
+        try {
+            StationChangeTracker.Pending pending = changeTracker.drain();
+            existing = snapshot;
+            if (existing == null || pending.everything()) {
+                snapshot = build(stationRepository.findAllSummaries(), nextVersion());
+            } else if (!pending.isEmpty()) {
+                snapshot = patch(existing, pending.stationIds());
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot patch(Snapshot base, Collection<UUID> stationIds) {
+        long version = base.version() + 1;
+        Map<UUID, StationSummaryDto> byId = new HashMap<>(base.byId());
+        Map<UUID, Long> versions = new HashMap<>(base.stationVersions());
+        Map<UUID, Long> removed = new HashMap<>(base.removed());
+        boolean changed = false;
+        boolean moved = false;
+        Map<UUID, StationSummaryDto> reloaded = new HashMap<>();
+        for (StationSummaryDto summary : stationRepository.findSummariesByIds(stationIds)) {
+            reloaded.put(summary.getStationId(), summary);
+        }
+        for (UUID stationId : stationIds) {
+            StationSummaryDto summary = reloaded.get(stationId);
+            if (summary == null) {
+                if (byId.remove(stationId) != null) {
+                    versions.remove(stationId);
+                    removed.put(stationId, version);
+                    changed = true;
+                    moved = true;
+                }
+                continue;
+            }
+            StationSummaryDto previous = byId.get(stationId);
+            if (!summary.equals(previous)) {
+                moved |= previous == null
+                        || previous.getLatitude() != summary.getLatitude()
+                        || previous.getLongitude() != summary.getLongitude();
+                byId.put(stationId, summary);
+                versions.put(stationId, version);
+                removed.remove(stationId);
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return base;
+        }
+        StationSpatialIndex index = moved ? indexOf(byId.values()) : base.index();
+        return snapshotOf(byId, versions, removed, index, base.baseVersion(), version);
+    }
+
+    private long nextVersion() {
+        Snapshot existing = snapshot;
+        long floor = existing != null ? existing.version() + 1 : 1;
+        return Math.max(floor, System.currentTimeMillis());
+    }
+
+    private Snapshot build(List<StationSummaryDto> summaries, long version) {
+        Map<UUID, StationSummaryDto> byId = new HashMap<>(summaries.size() * 2);
+        Map<UUID, Long> versions = new HashMap<>(summaries.size() * 2);
+        for (StationSummaryDto summary : summaries) {
+            byId.put(summary.getStationId(), summary);
+            versions.put(summary.getStationId(), version);
+        }
+        return snapshotOf(byId, versions, Map.of(), indexOf(byId.values()), version, version);
+    }
+
+    private StationSpatialIndex indexOf(Collection<StationSummaryDto> summaries) {
+        List<StationSpatialIndex.Point> points = summaries.stream()
+                .map(summary -> new StationSpatialIndex.Point(summary.getStationId(), summary.getLatitude(), summary.getLongitude()))
+                .toList();
+        return StationSpatialIndex.build(points, cellDegrees);
+    }
+
+    private static Snapshot snapshotOf(Map<UUID, StationSummaryDto> byId,
+                                       Map<UUID, Long> versions,
+                                       Map<UUID, Long> removed,
+                                       StationSpatialIndex index,
+                                       long baseVersion,
+                                       long version) {
+        List<StationSummaryDto> ordered = byId.values().stream()
+                .sorted(Comparator.comparing(StationSummaryDto::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(StationSummaryDto::getStationId))
+                .toList();
+        return new Snapshot(version, baseVersion, ordered, Map.copyOf(byId), Map.copyOf(versions), Map.copyOf(removed),
+                index);
+    }
+
+    public record Snapshot(long version,
+                           long baseVersion,
+                           List<StationSummaryDto> stations,
+                           Map<UUID, StationSummaryDto> byId,
+                           Map<UUID, Long> stationVersions,
+                           Map<UUID, Long> removed,
+                           StationSpatialIndex index) {
+    }
+
+    public record NearbyStation(StationSummaryDto station, double distanceMeters) {
+    }
+
+    /**
+     * Answer to {@link #changesSince(long)}; {@code full} means {@code stations} is the whole
+     * list and the client should replace rather than merge.
+     */
+    public record Changes(long version, boolean full, List<StationSummaryDto> stations, List<UUID> removed) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.DomainEventSubscriber;
+import com.sharecycle.domain.event.TripEndedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.repository.TripRepository;
+import com.sharecycle.infrastructure.DispatchMode;
+import com.sharecycle.infrastructure.SimpleDomainEventPublisher;
+import com.sharecycle.infrastructure.TripChangeTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totals for trip history pages, so paging through a filter does not rerun its COUNT on every
+ * page.
+ * <p>
+ * Exact counts are cached per normalized filter. A committed {@link TripEndedEvent} drops the
+ * entries whose rider and time window could include that trip. Entries also expire after
+ * {@code ttl-ms}, because a bike entering or leaving maintenance changes which trips history
+ * shows without any trip event. A count computed while an invalidation ran is not stored.
+ * <p>
+ * Approximate counts come from per-day, per-bike-type counters loaded with one grouped query
+ * and advanced by each committed {@link TripEndedEvent}. Whole days are summed, so a window
+ * that starts or ends mid-day may be over-counted, and maintenance changes after loading are
+ * not reflected.
+ * <p>
+ * Bulk trip writes that publish no event, such as a system reset, go through the
+ * {@link TripChangeTracker}; the next read after one commits drops every exact count and
+ * reloads the daily counters.
+ */
+@Component
+public class TripHistoryCountCache implements DomainEventSubscriber {
+
+    private final TripRepository tripRepository;
+    private final SimpleDomainEventPublisher publisher;
+    private final TripChangeTracker changeTracker;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<Key, Entry> exact = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final NavigableMap<LocalDate, Map<Bike.BikeType, LongAdder>> daily = new ConcurrentSkipListMap<>();
+    private volatile boolean dailyLoaded;
+    private volatile long trackedChanges;
+
+    public TripHistoryCountCache(TripRepository tripRepository,
+                                 SimpleDomainEventPublisher publisher,
+                                 TripChangeTracker changeTracker,
+                                 @Value("${sharecycle.trips.count-cache.ttl-ms:60000}") long ttlMillis,
+                                 @Value("${sharecycle.trips.count-cache.max-entries:1000}") int maxEntries) {
+        this.tripRepository = tripRepository;
+        this.publisher = publisher;
+        this.changeTracker = changeTracker;
+        this.trackedChanges = changeTracker.generation();
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @PostConstruct
+    void start() {
+        // Inline: only schedules work on the publishing transaction.
+        publisher.subscribe(this, DispatchMode.SYNC);
+    }
+
+    @PreDestroy
+    void stop() {
+        publisher.unsubscribe(this);
+    }
+
+    /**
+     * Exact number of history trips matching the filter, from the cache when it holds a fresh
+     * entry.
+     */
+    public long count(UUID userId, LocalDateTime startTime, LocalDateTime endTime,
+                      Bike.BikeType bikeType, String tripKeyPrefix) {
+        catchUpWithTracker();
+        Key key = new Key(userId, startTime, endTime, bikeType, tripKeyPrefix);
+        long now = System.currentTimeMillis();
+        Entry cached = exact.get(key);
+        if (cached != null && now - cached.computedAt() < ttlMillis) {
+            return cached.count();
+        }
+        long seen = generation.get();
+        long count = tripRepository.countHistory(userId, startTime, endTime, bikeType, tripKeyPrefix);
+        if (exact.size() >= maxEntries) {
+            exact.clear();
+        }
+        exact.put(key, new Entry(count, now));
+        if (generation.get() != seen) {
+            exact.remove(key);
+        }
+        return count;
+    }
+
+    /**
+     * Approximate number of history trips across all riders whose end date falls in the window,
+     * read from the per-day counters.
+     */
+    public long approximateCount(LocalDateTime startTime, LocalDateTime endTime, Bike.BikeType bikeType) {
+        catchUpWithTracker();
+        ensureDailyLoaded();
+        NavigableMap<LocalDate, Map<Bike.BikeType, LongAdder>> window = daily;
+        if (startTime != null) {
+            window = window.tailMap(startTime.toLocalDate(), true);
+        }
+        if (endTime != null) {
+            window = window.headMap(endTime.toLocalDate(), true);
+        }
+        long total = 0;
+        for (Map<Bike.BikeType, LongAdder> byType : window.values()) {
+            if (bikeType != null) {
+                LongAdder adder = byType.get(bikeType);
+                total += adder != null ? adder.sum() : 0;
+            } else {
+                for (LongAdder adder : byType.values()) {
+                    total += adder.sum();
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Drops every exact count and the daily counters, so the next reads go back to the
+     * database.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        exact.clear();
+        synchronized (daily) {
+            daily.clear();
+            dailyLoaded = false;
+        }
+    }
+
+    private void catchUpWithTracker() {
+        long changes = changeTracker.generation();
+        if (changes != trackedChanges) {
+            trackedChanges = changes;
+            invalidateAll();
+        }
+    }
+
+    private void ensureDailyLoaded() {
+        if (dailyLoaded) {
+            return;
+        }
+        synchronized (daily) {
+            if (dailyLoaded) {
+                return;
+            }
+            for (TripRepository.DailyCount row : tripRepository.countCompletedByDay()) {
+                if (row.day() != null && row.bikeType() != null) {
+                    counter(row.day(), row.bikeType()).add(row.trips());
+                }
+            }
+            dailyLoaded = true;
+        }
+    }
+
+    /**
+     * Called only while holding the {@code daily} lock. Readers need no lock: EnumMap views never
+     * throw on concurrent change and the adders themselves are thread-safe.
+     */
+    private LongAdder counter(LocalDate day, Bike.BikeType bikeType) {
+        return daily.computeIfAbsent(day, ignored -> new EnumMap<>(Bike.BikeType.class))
+                .computeIfAbsent(bikeType, ignored -> new LongAdder());
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (!(event instanceof TripEndedEvent ended)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tripEnded(ended);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    tripEnded(ended);
+                }
+            }
+        });
+    }
+
+    void tripEnded(TripEndedEvent event) {
+        generation.incrementAndGet();
+        LocalDateTime endedAt = event.endedAt();
+        exact.keySet().removeIf(key -> key.mayInclude(event.riderId(), endedAt, event.bikeType()));
+        if (endedAt == null || event.bikeType() == null) {
+            return;
+        }
+        // Checked under the lock, so a trip ending while the counters load waits for the load and
+        // is then added, rather than seeing dailyLoaded still false and being skipped.
+        synchronized (daily) {
+            if (dailyLoaded) {
+                counter(endedAt.toLocalDate(), event.bikeType()).increment();
+            }
+        }
+    }
+
+    private record Key(UUID userId, LocalDateTime startTime, LocalDateTime endTime,
+                       Bike.BikeType bikeType, String tripKeyPrefix) {
+
+        /**
+         * Whether a trip that ended at {@code endedAt} could be counted under this filter. A trip
+         * starts before it ends, so a window starting after {@code endedAt} cannot hold it.
+         * Unknown event fields are treated as matching.
+         */
+        boolean mayInclude(UUID riderId, LocalDateTime endedAt, Bike.BikeType tripBikeType) {
+            if (userId != null && riderId != null && !userId.equals(riderId)) {
+                return false;
+            }
+            if (bikeType != null && tripBikeType != null && bikeType != tripBikeType) {
+                return false;
+            }
+            if (endedAt == null) {
+                return true;
+            }
+            return (startTime == null || !startTime.isAfter(endedAt))
+                    && (endTime == null || !endedAt.isAfter(endTime));
+        }
+    }
+
+    private record Entry(long count, long computedAt) {
+    }
+}
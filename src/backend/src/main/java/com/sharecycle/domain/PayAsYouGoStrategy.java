@@ -14,10 +14,9 @@ public class PayAsYouGoStrategy implements PricingStrategyRepository {
     @Override
     public Bill calculate(Trip trip, PricingPlan plan, double discountRate) {
         int minutes = trip.getDurationMinutes();
-        double perMinuteRate = plan != null ? plan.getPerMinuteRate() : DEFAULT_PER_MINUTE_RATE;
-        double baseCost = plan != null ? plan.getBaseCost() : DEFAULT_BASE_COST;
-        Double planSurcharge = plan != null ? plan.getEBikeSurchargePerMinute() : null;
-        double eBikeSurchargeRate = planSurcharge != null ? planSurcharge : DEFAULT_EBIKE_SURCHARGE_PER_MINUTE;
+        double perMinuteRate = perMinuteRate(plan);
+        double baseCost = baseCost(plan);
+        double eBikeSurchargeRate = eBikeSurchargeRate(plan);
 
         double timeCost = minutes * perMinuteRate;
         double eBikeSurcharge = 0.0;
@@ -34,8 +33,7 @@ public class PayAsYouGoStrategy implements PricingStrategyRepository {
         }
 
         // Apply loyalty/discount perks last so they stack with operator discounts
-        double normalizedDiscountRate = Math.min(1.0, Math.max(0.0, discountRate));
-        double loyaltyMultiplier = 1.0 - normalizedDiscountRate;
+        double loyaltyMultiplier = loyaltyMultiplier(discountRate);
         baseCost = baseCost * loyaltyMultiplier;
         timeCost = timeCost * loyaltyMultiplier;
         eBikeSurcharge = eBikeSurcharge * loyaltyMultiplier;
@@ -43,6 +41,43 @@ public class PayAsYouGoStrategy implements PricingStrategyRepository {
         return new Bill(baseCost, timeCost, eBikeSurcharge);
     }
 
+    /**
+     * The total cost {@link #calculate} would bill, from a trip's raw columns instead of a
+     * {@link Trip}. Allocates nothing, so it can price millions of trips in a loop.
+     */
+    public static double totalCost(PricingPlan plan,
+                                   int minutes,
+                                   boolean eBike,
+                                   boolean operatorRider,
+                                   double discountRate) {
+        double cost = baseCost(plan) + minutes * perMinuteRate(plan);
+        if (eBike) {
+            cost += minutes * eBikeSurchargeRate(plan);
+        }
+        if (operatorRider) {
+            cost = cost * (1 - OPERATOR_DISCOUNT_RATE);
+        }
+        return cost * loyaltyMultiplier(discountRate);
+    }
+
+    private static double baseCost(PricingPlan plan) {
+        return plan != null ? plan.getBaseCost() : DEFAULT_BASE_COST;
+    }
+
+    private static double perMinuteRate(PricingPlan plan) {
+        return plan != null ? plan.getPerMinuteRate() : DEFAULT_PER_MINUTE_RATE;
+    }
+
+    private static double eBikeSurchargeRate(PricingPlan plan) {
+        Double planSurcharge = plan != null ? plan.getEBikeSurchargePerMinute() : null;
+        return planSurcharge != null ? planSurcharge : DEFAULT_EBIKE_SURCHARGE_PER_MINUTE;
+    }
+
+    private static double loyaltyMultiplier(double discountRate) {
+        double normalizedDiscountRate = Math.min(1.0, Math.max(0.0, discountRate));
+        return 1.0 - normalizedDiscountRate;
+    }
+
     public String displayInfo() {
         return "Pay As You Go Strategy: Per Minute Rate = " + DEFAULT_PER_MINUTE_RATE+"\n"+
             "E-Bike Surcharge Per Minute = " + DEFAULT_EBIKE_SURCHARGE_PER_MINUTE;
@@ -0,0 +1,57 @@
+package com.sharecycle.domain.event;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Human-readable one-line descriptions of domain events, as shown in the event console.
+ */
+public final class DomainEventMessages {
+
+    private DomainEventMessages() {
+    }
+
+    public static String format(DomainEvent e) {
+        var ts = e.occurredAt().format(DateTimeFormatter.ISO_LOCAL_TIME);
+        return "%s - %s".formatted(ts, describe(e));
+    }
+
+    public static String describe(DomainEvent e) {
+        if (e instanceof TripStartedEvent) return "Trip started.";
+        if (e instanceof TripEndedEvent) return "Trip ended.";
+        if (e instanceof TripBilledEvent) return "Trip billed.";
+        if (e instanceof PaymentStartedEvent) return "Payment processing started.";
+        if (e instanceof PaymentSucceedEvent) return "Payment completed successfully.";
+        if (e instanceof PaymentFailedEvent) return "Payment failed.";
+        if (e instanceof BillIssuedEvent event) return "Bill issued for trip %s totaling $%.2f".formatted(event.tripId().toString().substring(0, 8), event.totalCost());
+        if (e instanceof ReservationCreatedEvent) return "Bike reserved.";
+        if (e instanceof ReservationExpiredEvent) return "Reservation expired.";
+
+        if (e instanceof BikeStatusChangedEvent event) {
+            String bikeId = event.bikeId().toString().substring(0, 8);
+            return "Bike " + bikeId + " status changed to " + event.status();
+        }
+        if (e instanceof StationStatusChangedEvent event) {
+            String stationId = event.stationId().toString().substring(0, 8);
+            return "Station " + stationId + " status changed to " + event.status();
+        }
+        if (e instanceof StationCapacityChangedEvent event) {
+            String stationId = event.stationId().toString().substring(0, 8);
+            return "Station " + stationId + " capacity changed to " + event.capacity() + " (Free docks: " + event.freeDocks() + ")";
+        }
+        if (e instanceof BikeMovedEvent event) {
+            String bikeId = event.bikeId().toString().substring(0, 8);
+            return "Bike " + bikeId + " has been moved from " + event.sourceStationId() + " to " + event.destinationStationId();
+        }
+        if (e instanceof FlexCreditAddedEvent event) {
+            return "Flex credit added. Amount add: " + event.amount();
+        }
+        if (e instanceof FlexCreditDeductedEvent event) {
+            return "Flex credit deducted. Amount deducted " +event.amount();
+        }
+        if (e instanceof TierUpdatedEvent event) {
+            return String.format("Loyalty Tier updated to %s: %s", event.newTier(), event.reason());
+        }
+
+        return e.getClass().getSimpleName();
+    }
+}
@@ -2,4 +2,19 @@ package com.sharecycle.domain.event;
 
 public interface DomainEventSubscriber {
     void onEvent(DomainEvent event);
+
+    /**
+     * Sequence-aware variant used by publishers that number their events. The sequence is
+     * strictly increasing across all events from the same publisher.
+     */
+    default void onEvent(DomainEvent event, long sequence) {
+        onEvent(event);
+    }
+
+    /**
+     * Called once when the publisher stops delivering to this subscriber because it could
+     * not keep up. The subscriber is already unsubscribed when this runs.
+     */
+    default void onDropped() {
+    }
 }
@@ -0,0 +1,60 @@
+package com.sharecycle.domain.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides who may see an event. Most events are public; a few concern a single rider and
+ * are only shown to that rider and to operators.
+ */
+public final class DomainEventVisibility {
+
+    /**
+     * Simple class names of the events that are private to their owner.
+     */
+    public static final Set<String> PRIVATE_EVENT_TYPES = Set.of(
+            TierUpdatedEvent.class.getSimpleName(),
+            ReservationCreatedEvent.class.getSimpleName(),
+            FlexCreditAddedEvent.class.getSimpleName(),
+            FlexCreditDeductedEvent.class.getSimpleName()
+    );
+
+    private DomainEventVisibility() {
+    }
+
+    public static boolean isPrivate(DomainEvent e) {
+        return e instanceof TierUpdatedEvent
+                || e instanceof ReservationCreatedEvent
+                || e instanceof FlexCreditAddedEvent
+                || e instanceof FlexCreditDeductedEvent;
+    }
+
+    /**
+     * The rider a private event belongs to, or {@code null} for public events.
+     */
+    public static UUID ownerOf(DomainEvent e) {
+        if (e instanceof TierUpdatedEvent tue) return tue.riderId();
+        if (e instanceof ReservationCreatedEvent rce) return rce.getRiderId();
+        if (e instanceof FlexCreditAddedEvent fca) return fca.userId();
+        if (e instanceof FlexCreditDeductedEvent fcd) return fcd.userId();
+        return null;
+    }
+
+    public static boolean isVisibleTo(DomainEvent e, UUID userId, boolean isOperator) {
+        if (isOperator || !isPrivate(e)) {
+            return true;
+        }
+        return userId != null && userId.equals(ownerOf(e));
+    }
+
+    /**
+     * Same rule for persisted events, where only the type name and the stored principal
+     * are known.
+     */
+    public static boolean isVisibleTo(String eventType, UUID principalUserId, UUID userId, boolean isOperator) {
+        if (isOperator || !PRIVATE_EVENT_TYPES.contains(eventType)) {
+            return true;
+        }
+        return userId != null && userId.equals(principalUserId);
+    }
+}
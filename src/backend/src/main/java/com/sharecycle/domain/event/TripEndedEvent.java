@@ -6,10 +6,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 public record TripEndedEvent (
-        UUID tripId
+        UUID tripId,
+        UUID riderId,
+        UUID bikeId,
+        Bike.BikeType bikeType,
+        UUID endStationId,
+        LocalDateTime endedAt
 ) implements DomainEvent {
+    public TripEndedEvent(UUID tripId) {
+        this(tripId, null, null, null, null, null);
+    }
+
     @Override
     public LocalDateTime occurredAt() {
-        return LocalDateTime.now();
+        return endedAt != null ? endedAt : LocalDateTime.now();
     }
 }
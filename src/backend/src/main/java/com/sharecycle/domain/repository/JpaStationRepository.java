@@ -1,7 +1,9 @@
 package com.sharecycle.domain.repository;
 
 import com.sharecycle.domain.model.Station;
+import com.sharecycle.model.dto.StationSummaryDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,5 +11,21 @@ public interface JpaStationRepository {
     Station findById(UUID id);
     Station findByIdForUpdate(UUID id);
     List<Station> findAll();
+
+    /**
+     * The given stations with their docks and bikes; ids with no station are left out.
+     */
+    List<Station> findAllByIds(Collection<UUID> ids);
+
+    /**
+     * Summary counts for every station, computed in the database without loading docks or
+     * bikes.
+     */
+    List<StationSummaryDto> findAllSummaries();
+
+    /**
+     * Summary counts for the given stations; ids with no station are left out.
+     */
+    List<StationSummaryDto> findSummariesByIds(Collection<UUID> ids);
     void save(Station station);
 }
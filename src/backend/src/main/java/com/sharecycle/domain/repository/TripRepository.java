@@ -1,11 +1,14 @@
 package com.sharecycle.domain.repository;
 
 import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.LedgerEntry;
 import com.sharecycle.domain.model.Trip;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface TripRepository {
     void save(Trip trip);
@@ -22,11 +25,80 @@ public interface TripRepository {
 
     List<Trip> findAllByUserId(UUID userId);
 
-    List<Trip> findAllWithFilter(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType);
-    List<Trip> findAllWithFilterPaged(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType, int page, int pageSize);
-    long countAllWithFilter(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType);
+    /**
+     * One offset page of completed trips in history order (newest end time first), read as flat
+     * rows without loading stations, docks or ledger entries. A null {@code userId} covers every
+     * rider. A null {@code tripKeyPrefix} matches any trip; otherwise it must be lower-case and
+     * hold only hex digits and dashes, and only trips whose id starts with it are returned.
+     */
+    List<HistoryRow> findHistoryPage(UUID userId, LocalDateTime startDate, LocalDateTime endDate,
+                                     Bike.BikeType bikeType, String tripKeyPrefix, int page, int pageSize);
 
-    List<Trip> findAllByUserIdWithFilter(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType);
-    List<Trip> findAllByUserIdWithFilterPaged(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType, int page, int pageSize);
-    long countAllByUserIdWithFilter(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType);
+    /**
+     * Like {@link #findHistoryPage}, but returns at most {@code limit} rows after {@code after} in
+     * ({@code endTime}, {@code startTime}, {@code tripId}) descending order. A null {@code after}
+     * starts from the newest trip.
+     */
+    List<HistoryRow> findHistoryPageAfter(UUID userId, LocalDateTime startDate, LocalDateTime endDate,
+                                          Bike.BikeType bikeType, String tripKeyPrefix, SeekPosition after, int limit);
+
+    long countHistory(UUID userId, LocalDateTime startDate, LocalDateTime endDate,
+                      Bike.BikeType bikeType, String tripKeyPrefix);
+
+    /**
+     * Completed trips per end date and bike type across all riders, excluding trips whose bike is
+     * in maintenance.
+     */
+    List<DailyCount> countCompletedByDay();
+
+    /**
+     * Hands every matching history row to {@code sink} in history order, reading them through a
+     * forward-only cursor {@code fetchSize} rows at a time so the result is never held in memory.
+     */
+    void streamHistory(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType,
+                       int fetchSize, Consumer<HistoryRow> sink);
+
+    /**
+     * Hands the pricing inputs of every completed trip, live and archived, to {@code sink} as
+     * plain values, reading them through a forward-only cursor without building trips.
+     */
+    void scanPricingInputs(int fetchSize, PricingInputSink sink);
+
+    /**
+     * Position of a trip in newest-first history order.
+     */
+    record SeekPosition(LocalDateTime endTime, LocalDateTime startTime, UUID tripId) {
+    }
+
+    record DailyCount(LocalDate day, Bike.BikeType bikeType, long trips) {
+    }
+
+    /**
+     * Receives one completed trip's pricing inputs. {@code bikeType} and {@code riderRole} are
+     * null when the bike or rider row is gone; {@code discountRate} is 0 for trips billed before
+     * the rate was recorded.
+     */
+    @FunctionalInterface
+    interface PricingInputSink {
+        void accept(int durationMinutes, Bike.BikeType bikeType, String riderRole, double discountRate);
+    }
+
+    /**
+     * A trip as shown in history: names instead of entities and the ledger totals inline.
+     * {@code ledgerId} and {@code ledgerStatus} are null when the trip has no ledger entry.
+     */
+    record HistoryRow(UUID tripId,
+                      UUID riderId,
+                      String riderName,
+                      String startStationName,
+                      String endStationName,
+                      LocalDateTime startTime,
+                      LocalDateTime endTime,
+                      int durationMinutes,
+                      Bike.BikeType bikeType,
+                      UUID bikeId,
+                      double totalCost,
+                      UUID ledgerId,
+                      LedgerEntry.LedgerStatus ledgerStatus) {
+    }
 }
@@ -0,0 +1,215 @@
+package com.sharecycle.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded single-consumer queue drained by its own virtual thread.
+ * <p>
+ * Producers never run the consumer: {@link #offer(Object)} only enqueues and returns, applying
+ * the configured {@link OverflowPolicy} when the queue is full. The consumer is invoked one
+ * item at a time on the drain thread; an exception thrown by it is logged, counted as a
+ * failure rather than a delivery, and the drain continues with the next item.
+ */
+public class BoundedMailbox<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedMailbox.class);
+
+    private final String name;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Consumer<T> consumer;
+    private final Runnable onClosedByOverflow;
+
+    private final ArrayDeque<T> queue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private volatile boolean closed;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Thread drainer;
+
+    public BoundedMailbox(String name,
+                          int capacity,
+                          OverflowPolicy overflowPolicy,
+                          long blockTimeoutMillis,
+                          Consumer<T> consumer,
+                          Runnable onClosedByOverflow) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_OLDEST : overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, blockTimeoutMillis));
+        this.consumer = consumer;
+        this.onClosedByOverflow = onClosedByOverflow;
+        this.queue = new ArrayDeque<>(Math.min(capacity, 1024));
+        this.drainer = Thread.ofVirtual().name("mailbox-" + name).start(this::drain);
+    }
+
+    /**
+     * Enqueues the item. Returns {@code false} if the item was not accepted, either because
+     * the mailbox is closed or because the overflow policy rejected it.
+     */
+    public boolean offer(T item) {
+        if (item == null || closed) {
+            return false;
+        }
+        boolean evicted = false;
+        lock.lock();
+        try {
+            if (queue.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST -> {
+                        queue.pollFirst();
+                        dropped.incrementAndGet();
+                    }
+                    case DROP_SUBSCRIBER -> {
+                        dropped.incrementAndGet();
+                        dropped.addAndGet(queue.size());
+                        queue.clear();
+                        closed = true;
+                        evicted = true;
+                        notEmpty.signalAll();
+                    }
+                    case BLOCK -> {
+                        if (!awaitSpace()) {
+                            dropped.incrementAndGet();
+                            return false;
+                        }
+                    }
+                }
+            }
+            if (!evicted) {
+                queue.addLast(item);
+                enqueued.incrementAndGet();
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (evicted) {
+            logger.warn("mailbox {} overflowed at {} items; dropping its consumer", name, capacity);
+            if (onClosedByOverflow != null) {
+                onClosedByOverflow.run();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean awaitSpace() {
+        long remaining = blockTimeoutNanos;
+        try {
+            while (queue.size() >= capacity && !closed) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !closed;
+    }
+
+    /**
+     * Stops the drain thread. Items still queued are discarded.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        drainer.interrupt();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long enqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long deliveredCount() {
+        return delivered.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    private void drain() {
+        while (true) {
+            T next;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    notEmpty.await();
+                }
+                if (closed) {
+                    return;
+                }
+                next = queue.pollFirst();
+                notFull.signal();
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                consumer.accept(next);
+                delivered.incrementAndGet();
+            } catch (Exception ex) {
+                failed.incrementAndGet();
+                logger.warn("mailbox {} consumer failed", name, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sharecycle.infrastructure;
+
+/**
+ * How the publisher delivers events to a subscriber.
+ */
+public enum DispatchMode {
+    /** Call the subscriber on the publishing thread, inside the caller's transaction. */
+    SYNC,
+    /** Queue events in a bounded per-subscriber mailbox drained on its own virtual thread. */
+    ASYNC
+}
@@ -1,21 +1,48 @@
 package com.sharecycle.infrastructure;
 
+import com.sharecycle.domain.event.DomainEventMessages;
+import com.sharecycle.infrastructure.codec.EventCodecRegistry;
 import com.sharecycle.infrastructure.dto.DomainEventRecord;
+import com.sharecycle.infrastructure.dto.EventHistoryPage;
+import com.sharecycle.infrastructure.dto.EventHistoryQuery;
+import com.sharecycle.infrastructure.dto.StoredDomainEvent;
 import com.sharecycle.infrastructure.persistence.JpaDomainEventRepository;
 import com.sharecycle.infrastructure.persistence.jpa.JpaDomainEventEntity;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Read side of the persisted event log, which {@link DomainEventOutbox} fills. Clients that
+ * fell out of the publisher's in-memory ring are caught up from here.
+ */
 @Component
 public class DomainEventLog {
 
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventLog.class);
     private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_HISTORY_LIMIT = 500;
 
     private final JpaDomainEventRepository repository;
+    private final SimpleDomainEventPublisher publisher;
 
-    public DomainEventLog(JpaDomainEventRepository repository) {
+    public DomainEventLog(JpaDomainEventRepository repository, SimpleDomainEventPublisher publisher) {
         this.repository = repository;
+        this.publisher = publisher;
+    }
+
+    @PostConstruct
+    void attach() {
+        long persisted = repository.findMaxSequence();
+        if (publisher.lastSequence() == 0) {
+            publisher.resumeAfter(persisted);
+        } else if (persisted > 0) {
+            logger.warn("events were published before the log attached; sequence numbers may repeat");
+        }
     }
 
     public void append(Object event) {
@@ -29,10 +56,65 @@ public class DomainEventLog {
         int effectiveLimit = limit > 0 ? limit : DEFAULT_LIMIT;
         return repository.findRecent(effectiveLimit).stream()
                 .map(entity -> new DomainEventRecord(
+                        entity.getEventType(),
+                        describe(entity.getPayload(), entity.getMessage()),
+                        entity.getOccurredAt()
+                ))
+                .toList();
+    }
+
+    /**
+     * Persisted events numbered strictly between {@code after} and {@code before}, oldest
+     * first, capped at {@code limit}.
+     */
+    public List<StoredDomainEvent> readBetween(long after, long before, int limit) {
+        return repository.findBetweenSequences(after, before, limit).stream()
+                .map(entity -> new StoredDomainEvent(
+                        entity.getSequenceNo(),
                         entity.getEventType(),
                         entity.getMessage(),
+                        entity.getPayload(),
+                        entity.getPrincipalUserId(),
                         entity.getOccurredAt()
                 ))
                 .toList();
     }
+
+    /**
+     * One newest-first page of history, continuing into the archive when the live table runs
+     * out and the query asks for it. Archived events always carry lower sequence numbers than
+     * live ones, so a single cursor spans both tables.
+     */
+    public EventHistoryPage history(EventHistoryQuery query) {
+        int limit = query.limit() > 0 ? Math.min(query.limit(), MAX_HISTORY_LIMIT) : DEFAULT_LIMIT;
+        long before = query.before() != null ? query.before() : Long.MAX_VALUE;
+
+        List<StoredDomainEvent> found = new ArrayList<>(repository.findHistory(query, before, limit + 1));
+        if (found.size() <= limit && query.includeArchive()) {
+            long archiveBefore = found.isEmpty() ? before : found.get(found.size() - 1).sequence();
+            found.addAll(repository.findArchivedHistory(query, archiveBefore, limit + 1 - found.size()));
+        }
+        boolean more = found.size() > limit;
+        List<StoredDomainEvent> page = more ? found.subList(0, limit) : found;
+        List<EventHistoryPage.Entry> entries = page.stream()
+                .map(stored -> new EventHistoryPage.Entry(stored.sequence(), stored.type(),
+                        describe(stored.payload(), stored.message()), stored.occurredAt()))
+                .toList();
+        return new EventHistoryPage(entries, more ? page.get(page.size() - 1).sequence() : null);
+    }
+
+    /**
+     * Console text for a persisted event: decoded from its payload when possible, otherwise
+     * the message stored with it.
+     */
+    public static String describe(byte[] payload, String fallback) {
+        try {
+            return EventCodecRegistry.standard().decode(payload)
+                    .map(DomainEventMessages::describe)
+                    .orElse(fallback);
+        } catch (IllegalArgumentException ex) {
+            logger.warn("unreadable domain event payload", ex);
+            return fallback;
+        }
+    }
 }
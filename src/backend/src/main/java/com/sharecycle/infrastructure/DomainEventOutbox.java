@@ -0,0 +1,238 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.DomainEventSubscriber;
+import com.sharecycle.infrastructure.persistence.jpa.JpaDomainEventEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes published events to the {@code domain_event} table after the publishing transaction
+ * commits.
+ * <p>
+ * Events published inside a transaction are held on that transaction and handed to the
+ * writer only from {@code afterCompletion} with a committed status; a rollback discards them.
+ * Events published outside a transaction are handed over immediately. A single background
+ * writer groups rows into JDBC batches of up to {@code batch-size}, flushing earlier when
+ * {@code flush-interval-ms} elapses. A failed batch is retried row by row so one bad row
+ * does not lose the rest.
+ */
+@Component
+public class DomainEventOutbox implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventOutbox.class);
+
+    static final String INSERT_SQL = "INSERT INTO domain_event (event_id, sequence_no, event_type, occurred_at, "
+            + "message, payload, principal_user_id, station_id, bike_id, trip_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleDomainEventPublisher publisher;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<JpaDomainEventEntity> pending;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    public DomainEventOutbox(JdbcTemplate jdbcTemplate,
+                             SimpleDomainEventPublisher publisher,
+                             @Value("${sharecycle.events.outbox.batch-size:200}") int batchSize,
+                             @Value("${sharecycle.events.outbox.flush-interval-ms:200}") long flushIntervalMillis,
+                             @Value("${sharecycle.events.outbox.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.publisher = publisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.pending = new ArrayBlockingQueue<>(Math.max(this.batchSize, queueCapacity));
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofVirtual().name("domain-event-outbox").start(this::runWriter);
+        // Inline: only captures the event; nothing is written on the publishing thread.
+        publisher.subscribe(this, DispatchMode.SYNC);
+    }
+
+    @PreDestroy
+    void stop() {
+        publisher.unsubscribe(this);
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<JpaDomainEventEntity> rest = new ArrayList<>();
+        pending.drainTo(rest);
+        write(rest);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        onEvent(event, 0);
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, long sequence) {
+        JpaDomainEventEntity row = JpaDomainEventEntity.fromEvent(event, sequence);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(row);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<JpaDomainEventEntity> held = (List<JpaDomainEventEntity>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            List<JpaDomainEventEntity> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventOutbox.this);
+                    if (status == STATUS_COMMITTED) {
+                        rows.forEach(DomainEventOutbox.this::enqueue);
+                    }
+                }
+            });
+            held = rows;
+        }
+        held.add(row);
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public int backlog() {
+        return pending.size();
+    }
+
+    private void enqueue(JpaDomainEventEntity row) {
+        if (!pending.offer(row)) {
+            // Writer is saturated: apply back-pressure by writing this row on the caller.
+            write(List.of(row));
+        }
+    }
+
+    private void runWriter() {
+        List<JpaDomainEventEntity> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                JpaDomainEventEntity first = pending.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    pending.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    JpaDomainEventEntity next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                if (!running) {
+                    write(batch);
+                    return;
+                }
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<JpaDomainEventEntity> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), DomainEventOutbox::bind);
+            written.addAndGet(rows.size());
+        } catch (RuntimeException batchFailure) {
+            logger.warn("batch insert of {} domain events failed; retrying one by one", rows.size(), batchFailure);
+            for (JpaDomainEventEntity row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row));
+                    written.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    failed.incrementAndGet();
+                    logger.warn("dropping domain event {} #{}", row.getEventType(), row.getSequenceNo(), ex);
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, JpaDomainEventEntity row) throws SQLException {
+        ps.setBytes(1, toBytes(row.getEventId()));
+        if (row.getSequenceNo() != null) {
+            ps.setLong(2, row.getSequenceNo());
+        } else {
+            ps.setNull(2, Types.BIGINT);
+        }
+        ps.setString(3, row.getEventType());
+        EventTimestamps.set(ps, 4, row.getOccurredAt());
+        ps.setString(5, row.getMessage());
+        if (row.getPayload() != null) {
+            ps.setBytes(6, row.getPayload());
+        } else {
+            ps.setNull(6, Types.VARBINARY);
+        }
+        setUuid(ps, 7, row.getPrincipalUserId());
+        setUuid(ps, 8, row.getStationId());
+        setUuid(ps, 9, row.getBikeId());
+        setUuid(ps, 10, row.getTripId());
+    }
+
+    private static void setUuid(PreparedStatement ps, int index, UUID value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BINARY);
+        } else {
+            ps.setBytes(index, toBytes(value));
+        }
+    }
+
+    private static byte[] toBytes(UUID value) {
+        return ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,151 @@
+package com.sharecycle.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Calendar;
+
+/**
+ * Keeps {@code domain_event} small by moving events older than {@code hot-days} into
+ * {@code domain_event_archive} and deleting archived events older than {@code archive-days}.
+ * <p>
+ * Both steps walk the sequence number in ranges of {@code batch-size}, each range in its own
+ * short transaction, so the job never holds long locks or builds one huge undo log. Each step
+ * turns its time cutoff into a sequence cutoff once (the newest sequence number older than the
+ * cutoff) and then handles every row at or below it, whatever that row's own
+ * {@code occurred_at}. Events are committed slightly out of time order, so filtering each range
+ * by time again would strand older-numbered rows behind the cutoff; moving by sequence alone
+ * keeps every archived sequence number below every live one.
+ */
+@Component
+public class DomainEventRetention {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventRetention.class);
+
+    private static final String COLUMNS = "event_id, sequence_no, event_type, occurred_at, message, payload, "
+            + "principal_user_id, station_id, bike_id, trip_id";
+    private static final String ARCHIVE_RANGE_SQL = "INSERT INTO domain_event_archive (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM domain_event "
+            + "WHERE sequence_no > ? AND sequence_no <= ?";
+    private static final String ARCHIVE_UNSEQUENCED_SQL = "INSERT INTO domain_event_archive (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM domain_event WHERE sequence_no IS NULL AND occurred_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration hotWindow;
+    private final Duration archiveWindow;
+    private final int batchSize;
+
+    public DomainEventRetention(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${sharecycle.events.retention.enabled:true}") boolean enabled,
+                                @Value("${sharecycle.events.retention.hot-days:7}") int hotDays,
+                                @Value("${sharecycle.events.retention.archive-days:90}") int archiveDays,
+                                @Value("${sharecycle.events.retention.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.hotWindow = Duration.ofDays(Math.max(1, hotDays));
+        this.archiveWindow = Duration.ofDays(Math.max(hotDays, archiveDays));
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(cron = "${sharecycle.events.retention.cron:0 15 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            enforce(Instant.now());
+        }
+    }
+
+    /**
+     * Archives and prunes relative to {@code now}.
+     */
+    public RetentionReport enforce(Instant now) {
+        long began = System.nanoTime();
+        long archived = archive(now.minus(hotWindow));
+        long pruned = prune(now.minus(archiveWindow));
+        long millis = (System.nanoTime() - began) / 1_000_000;
+        if (archived > 0 || pruned > 0) {
+            logger.info("domain event retention archived {} and pruned {} events in {} ms", archived, pruned, millis);
+        }
+        return new RetentionReport(archived, pruned, millis);
+    }
+
+    private long archive(Instant cutoff) {
+        Calendar before = EventTimestamps.bind(cutoff);
+        long moved = forEachRange("domain_event", sequenceCutoff("domain_event", before), (from, to) -> {
+            Integer count = transactionTemplate.execute(status -> {
+                int copied = jdbcTemplate.update(ARCHIVE_RANGE_SQL, from, to);
+                jdbcTemplate.update("DELETE FROM domain_event WHERE sequence_no > ? AND sequence_no <= ?", from, to);
+                return copied;
+            });
+            return count != null ? count : 0;
+        });
+        // Rows written before sequence numbers existed.
+        Integer legacy = transactionTemplate.execute(status -> {
+            int copied = jdbcTemplate.update(ARCHIVE_UNSEQUENCED_SQL, before);
+            jdbcTemplate.update("DELETE FROM domain_event WHERE sequence_no IS NULL AND occurred_at < ?", before);
+            return copied;
+        });
+        return moved + (legacy != null ? legacy : 0);
+    }
+
+    private long prune(Instant cutoff) {
+        Calendar before = EventTimestamps.bind(cutoff);
+        long deleted = forEachRange("domain_event_archive", sequenceCutoff("domain_event_archive", before),
+                (from, to) -> jdbcTemplate.update(
+                        "DELETE FROM domain_event_archive WHERE sequence_no > ? AND sequence_no <= ?", from, to));
+        return deleted + jdbcTemplate.update(
+                "DELETE FROM domain_event_archive WHERE sequence_no IS NULL AND occurred_at < ?", before);
+    }
+
+    /**
+     * Newest sequence number in {@code table} older than {@code before}, or {@code null} when
+     * nothing is old enough.
+     */
+    private Long sequenceCutoff(String table, Calendar before) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MAX(sequence_no) FROM " + table + " WHERE occurred_at < ?", Long.class, before);
+    }
+
+    /**
+     * Calls {@code action} for consecutive {@code (from, to]} sequence ranges covering every
+     * row of {@code table} up to and including {@code upper}. Each range starts at the next
+     * existing sequence number, so gaps in the numbering cost nothing.
+     */
+    private long forEachRange(String table, Long upper, RangeAction action) {
+        if (upper == null) {
+            return 0;
+        }
+        long total = 0;
+        long cursor = Long.MIN_VALUE;
+        while (cursor < upper) {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT MIN(sequence_no) FROM " + table + " WHERE sequence_no > ?", Long.class, cursor);
+            if (next == null || next > upper) {
+                break;
+            }
+            long to = Math.min(upper, next - 1 + batchSize);
+            total += action.apply(next - 1, to);
+            cursor = to;
+        }
+        return total;
+    }
+
+    public record RetentionReport(long archived, long pruned, long durationMillis) {
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        int apply(long from, long to);
+    }
+}
@@ -0,0 +1,57 @@
+package com.sharecycle.infrastructure;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * The one time convention for stored domain events.
+ * <p>
+ * Domain events carry a {@link LocalDateTime} in the JVM zone; storage keeps the absolute
+ * {@link Instant}, and the {@code occurred_at} columns hold it as UTC. JPA gets there through
+ * the entities' {@code TIMESTAMP_UTC} mapping, and every JDBC path binds through
+ * {@link #bind(Instant)} so it stores and compares the same values.
+ */
+public final class EventTimestamps {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone(ZoneOffset.UTC);
+
+    private EventTimestamps() {
+    }
+
+    public static Instant toInstant(LocalDateTime occurredAt) {
+        return occurredAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    public static LocalDateTime toLocal(Instant occurredAt) {
+        return LocalDateTime.ofInstant(occurredAt, ZoneId.systemDefault());
+    }
+
+    /**
+     * A JdbcTemplate argument for an {@code occurred_at} column. Spring binds a calendar with
+     * {@code setTimestamp(index, timestamp, calendar)}, so the driver converts in UTC whatever
+     * the JVM zone is.
+     */
+    public static Calendar bind(Instant occurredAt) {
+        Calendar calendar = utcCalendar();
+        calendar.setTimeInMillis(occurredAt.toEpochMilli());
+        return calendar;
+    }
+
+    /**
+     * Binds {@code occurredAt} at full precision on a prepared statement.
+     */
+    public static void set(PreparedStatement ps, int index, Instant occurredAt) throws SQLException {
+        ps.setTimestamp(index, Timestamp.from(occurredAt), utcCalendar());
+    }
+
+    private static Calendar utcCalendar() {
+        return Calendar.getInstance(UTC);
+    }
+}
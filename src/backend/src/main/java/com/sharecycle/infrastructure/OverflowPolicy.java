@@ -0,0 +1,13 @@
+package com.sharecycle.infrastructure;
+
+/**
+ * What a {@link BoundedMailbox} does when a producer offers an item while it is full.
+ */
+public enum OverflowPolicy {
+    /** Discard the oldest queued item to make room for the new one. */
+    DROP_OLDEST,
+    /** Close the mailbox and stop delivering to its consumer altogether. */
+    DROP_SUBSCRIBER,
+    /** Make the producer wait for free space, up to the configured timeout. */
+    BLOCK
+}
@@ -0,0 +1,10 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.DomainEvent;
+
+/**
+ * A published domain event paired with the sequence number the publisher assigned to it.
+ * Sequence numbers are strictly increasing and start at 1.
+ */
+public record SequencedEvent(long sequence, DomainEvent event) {
+}
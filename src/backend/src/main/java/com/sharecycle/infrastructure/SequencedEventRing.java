@@ -0,0 +1,111 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.DomainEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity ring of the most recent events, indexed by a monotonic sequence number.
+ * <p>
+ * {@link #append(DomainEvent)} claims the next sequence with a single atomic increment and
+ * writes the slot {@code sequence & mask}; there is no lock and no trimming. Readers walk
+ * sequences backwards or forwards from the published cursor and verify each slot still holds
+ * the sequence they expect, so an entry overwritten by a lapping writer is skipped rather
+ * than returned out of order.
+ */
+public class SequencedEventRing {
+
+    private final AtomicReferenceArray<SequencedEvent> slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private volatile long floor;
+
+    public SequencedEventRing(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Appends the event and returns the sequence assigned to it.
+     */
+    public long append(DomainEvent event) {
+        long sequence = cursor.incrementAndGet();
+        slots.set((int) (sequence & mask), new SequencedEvent(sequence, event));
+        return sequence;
+    }
+
+    /**
+     * Sequence of the most recently claimed slot, or 0 when nothing was appended yet.
+     */
+    public long lastSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * Oldest sequence that can still be read from the ring.
+     */
+    public long firstAvailableSequence() {
+        return Math.max(floor + 1, cursor.get() - mask);
+    }
+
+    /**
+     * Moves the cursor forward so the next append is assigned {@code sequence + 1}, e.g. to
+     * continue numbering after a restart. Sequences up to and including {@code sequence} are
+     * reported as unavailable. Must be called before the first append.
+     */
+    public void resumeAfter(long sequence) {
+        if (cursor.get() != 0) {
+            throw new IllegalStateException("ring already has events");
+        }
+        floor = Math.max(0, sequence);
+        cursor.set(floor);
+    }
+
+    /**
+     * Events with a sequence strictly greater than {@code sequence}, oldest first.
+     * Reading stops at the first slot whose writer has not finished yet so that callers
+     * can safely resume from the last sequence they received.
+     */
+    public List<SequencedEvent> readSince(long sequence) {
+        long last = cursor.get();
+        long from = Math.max(sequence + 1, firstAvailableSequence());
+        if (from > last) {
+            return List.of();
+        }
+        List<SequencedEvent> out = new ArrayList<>((int) (last - from + 1));
+        for (long next = from; next <= last; next++) {
+            SequencedEvent entry = slots.get((int) (next & mask));
+            if (entry == null || entry.sequence() < next) {
+                break;
+            }
+            if (entry.sequence() == next) {
+                out.add(entry);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Up to {@code limit} most recent events, newest first.
+     */
+    public List<SequencedEvent> latest(int limit) {
+        long last = cursor.get();
+        int effective = (int) Math.min(Math.max(0, limit), Math.min(last - floor, capacity()));
+        List<SequencedEvent> out = new ArrayList<>(effective);
+        for (long next = last; next > last - effective; next--) {
+            SequencedEvent entry = slots.get((int) (next & mask));
+            if (entry != null && entry.sequence() == next) {
+                out.add(entry);
+            }
+        }
+        return out;
+    }
+}
@@ -3,47 +3,101 @@ package com.sharecycle.infrastructure;
 import com.sharecycle.domain.event.DomainEvent;
 import com.sharecycle.domain.event.DomainEventPublisher;
 import com.sharecycle.domain.event.DomainEventSubscriber;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Keeps a small in-memory ring buffer of the last N events and notifies subscribers.
+ * Every published event is assigned a sequence number by the ring.
+ * <p>
+ * Subscribers registered in {@link DispatchMode#ASYNC} mode each get their own bounded
+ * mailbox drained on a virtual thread, so {@link #publish(DomainEvent)} only enqueues and a
+ * slow subscriber (an SSE client on a bad connection, say) cannot hold up the publishing
+ * transaction. {@link DispatchMode#SYNC} subscribers are still called inline.
  */
 @Component
 public class SimpleDomainEventPublisher implements DomainEventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleDomainEventPublisher.class);
     private static final int DEFAULT_CAPACITY = 200;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long DEFAULT_BLOCK_TIMEOUT_MS = 1000;
 
-    private final Deque<DomainEvent> ring = new ConcurrentLinkedDeque<>();
-    private final List<DomainEventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final SequencedEventRing ring;
     private final int capacity;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final DispatchMode defaultMode;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+    private final AtomicInteger mailboxIds = new AtomicInteger();
 
     public SimpleDomainEventPublisher() {
         this(DEFAULT_CAPACITY);
     }
 
     public SimpleDomainEventPublisher(int capacity) {
+        this(capacity, DispatchMode.SYNC, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST, DEFAULT_BLOCK_TIMEOUT_MS);
+    }
+
+    @Autowired
+    public SimpleDomainEventPublisher(
+            @Value("${sharecycle.events.buffer-capacity:200}") int capacity,
+            @Value("${sharecycle.events.dispatch-mode:SYNC}") DispatchMode defaultMode,
+            @Value("${sharecycle.events.subscriber-queue-capacity:1024}") int queueCapacity,
+            @Value("${sharecycle.events.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${sharecycle.events.block-timeout-ms:1000}") long blockTimeoutMs) {
         this.capacity = Math.max(16, capacity);
+        // The ring may round up; recentEvents() still honours the configured capacity.
+        this.ring = new SequencedEventRing(this.capacity);
+        this.defaultMode = defaultMode == null ? DispatchMode.SYNC : defaultMode;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_OLDEST : overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
     }
 
     @Override
     public void subscribe(DomainEventSubscriber subscriber) {
+        subscribe(subscriber, defaultMode);
+    }
+
+    /**
+     * Registers a subscriber with an explicit dispatch mode, overriding the configured default.
+     */
+    public void subscribe(DomainEventSubscriber subscriber, DispatchMode mode) {
+        subscribe(subscriber, mode, queueCapacity, overflowPolicy);
+    }
+
+    /**
+     * Registers a subscriber whose mailbox uses its own capacity and overflow policy instead
+     * of the configured ones. Both only matter in {@link DispatchMode#ASYNC} mode.
+     */
+    public void subscribe(DomainEventSubscriber subscriber, DispatchMode mode,
+                          int mailboxCapacity, OverflowPolicy mailboxPolicy) {
         if (subscriber != null) {
-            subscribers.add(subscriber);
+            subscriptions.add(new Subscription(subscriber, mode == null ? defaultMode : mode,
+                    Math.max(1, mailboxCapacity), mailboxPolicy == null ? overflowPolicy : mailboxPolicy));
         }
     }
 
     @Override
     public void unsubscribe(DomainEventSubscriber subscriber) {
-        subscribers.remove(subscriber);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.subscriber == subscriber) {
+                subscriptions.remove(subscription);
+                subscription.close();
+            }
+        }
     }
 
     @Override
@@ -62,29 +116,174 @@ public class SimpleDomainEventPublisher implements DomainEventPublisher {
         logger.info("publishing domain event: {}", event.getClass().getSimpleName());
 
         // append to ring buffer
-        ring.addLast(event);
-        while (ring.size() > capacity) {
-            ring.pollFirst();
-        }
+        long sequence = ring.append(event);
+        SequencedEvent sequenced = new SequencedEvent(sequence, event);
 
-        // notify subscribers, isolating failures
-        for (DomainEventSubscriber s : subscribers) {
-            try {
-                s.onEvent(event);
-            } catch (Exception ex) {
-                logger.warn("subscriber failed handling event {}", event.getClass().getSimpleName(), ex);
-            }
+        // hand off to subscribers; async ones only enqueue here
+        for (Subscription subscription : subscriptions) {
+            subscription.dispatch(sequenced);
         }
     }
 
     /**
-     * Return a snapshot of recent events (newest first).
+     * Return a snapshot of up to {@code buffer-capacity} recent events (newest first).
      */
     public List<DomainEvent> recentEvents() {
-        return ring.stream()
-                .collect(Collectors.toList())
-                .stream()
-                .sorted((a, b) -> b.occurredAt().compareTo(a.occurredAt()))
-                .collect(Collectors.toList());
+        return ring.latest(capacity).stream()
+                .map(SequencedEvent::event)
+                .toList();
+    }
+
+    /**
+     * The same {@code buffer-capacity} window as {@link #recentEvents()}, oldest first and with
+     * sequence numbers.
+     */
+    public List<SequencedEvent> recentSequenced() {
+        return ring.latest(capacity).reversed();
+    }
+
+    /**
+     * Events published after the given sequence number, oldest first.
+     */
+    public List<SequencedEvent> readSince(long sequence) {
+        return ring.readSince(sequence);
+    }
+
+    /**
+     * Sequence number of the most recently published event, or 0 if none.
+     */
+    public long lastSequence() {
+        return ring.lastSequence();
+    }
+
+    /**
+     * Oldest sequence number still held in memory; anything older has to be read from the
+     * persisted event log.
+     */
+    public long firstAvailableSequence() {
+        return ring.firstAvailableSequence();
+    }
+
+    /**
+     * Continues numbering after {@code sequence}, typically the highest sequence already
+     * persisted before a restart. Only valid before the first event is published.
+     */
+    public void resumeAfter(long sequence) {
+        ring.resumeAfter(sequence);
+    }
+
+    /**
+     * Delivery metrics for every current subscriber.
+     */
+    public List<SubscriberStats> subscriberStats() {
+        long head = ring.lastSequence();
+        return subscriptions.stream()
+                .map(subscription -> subscription.stats(head))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    private void evict(Subscription subscription) {
+        subscriptions.remove(subscription);
+        try {
+            subscription.subscriber.onDropped();
+        } catch (Exception ex) {
+            logger.warn("subscriber failed handling its own eviction", ex);
+        }
+    }
+
+    /**
+     * Point-in-time delivery metrics for one subscriber. {@code lag} is the number of
+     * published events the subscriber has not finished handling yet.
+     */
+    public record SubscriberStats(String name,
+                                  DispatchMode mode,
+                                  OverflowPolicy overflowPolicy,
+                                  int queueDepth,
+                                  int queueCapacity,
+                                  long delivered,
+                                  long dropped,
+                                  long failed,
+                                  long lastDeliveredSequence,
+                                  long lag) {
+    }
+
+    private final class Subscription {
+        private final DomainEventSubscriber subscriber;
+        private final DispatchMode mode;
+        private final String name;
+        private final BoundedMailbox<SequencedEvent> mailbox;
+        private final long subscribedAt;
+        private final AtomicLong lastDelivered = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+
+        private Subscription(DomainEventSubscriber subscriber, DispatchMode mode,
+                             int mailboxCapacity, OverflowPolicy mailboxPolicy) {
+            this.subscriber = subscriber;
+            this.mode = mode;
+            this.name = subscriber.getClass().getSimpleName() + "#" + mailboxIds.incrementAndGet();
+            this.subscribedAt = ring.lastSequence();
+            this.lastDelivered.set(subscribedAt);
+            this.mailbox = mode == DispatchMode.ASYNC
+                    ? new BoundedMailbox<>(name, mailboxCapacity, mailboxPolicy, blockTimeoutMs,
+                    this::deliver, this::onOverflowEviction)
+                    : null;
+        }
+
+        private void dispatch(SequencedEvent event) {
+            if (mailbox == null) {
+                deliver(event);
+            } else {
+                mailbox.offer(event);
+            }
+        }
+
+        private void deliver(SequencedEvent event) {
+            try {
+                subscriber.onEvent(event.event(), event.sequence());
+                delivered.incrementAndGet();
+            } catch (Exception ex) {
+                failed.incrementAndGet();
+                logger.warn("subscriber failed handling event {}", event.event().getClass().getSimpleName(), ex);
+            }
+            lastDelivered.accumulateAndGet(event.sequence(), Math::max);
+        }
+
+        private void onOverflowEviction() {
+            if (evicted.compareAndSet(false, true)) {
+                evict(this);
+            }
+        }
+
+        private void close() {
+            if (mailbox != null) {
+                mailbox.close();
+            }
+        }
+
+        private SubscriberStats stats(long head) {
+            long last = lastDelivered.get();
+            return new SubscriberStats(
+                    name,
+                    mode,
+                    mailbox == null ? null : mailbox.overflowPolicy(),
+                    mailbox == null ? 0 : mailbox.depth(),
+                    mailbox == null ? 0 : mailbox.capacity(),
+                    delivered.get(),
+                    mailbox == null ? 0 : mailbox.droppedCount(),
+                    failed.get(),
+                    last,
+                    Math.max(0, head - last)
+            );
+        }
     }
-}
\ No newline at end of file
+}
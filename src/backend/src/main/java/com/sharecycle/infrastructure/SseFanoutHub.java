@@ -0,0 +1,518 @@
+package com.sharecycle.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.DomainEventMessages;
+import com.sharecycle.domain.event.DomainEventSubscriber;
+import com.sharecycle.domain.event.DomainEventVisibility;
+import com.sharecycle.infrastructure.codec.EventCodecRegistry;
+import com.sharecycle.infrastructure.dto.StoredDomainEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fans published events out to SSE connections.
+ * <p>
+ * The hub is a single publisher subscriber. Each event is encoded into SSE wire bytes exactly
+ * once and the same byte array is queued on every connection allowed to see it: all
+ * connections for a public event, or the owning rider's connections plus operators for a
+ * private one. Connections are indexed by user id so private events never touch anyone
+ * else's queue. Each connection drains its own bounded mailbox, so a slow client only
+ * delays itself.
+ * <p>
+ * Connections opened with {@code coalesce} do not receive station-level events one by one.
+ * Those are folded per station over {@code coalesce-window-ms} and sent as a single
+ * {@code StationDelta} frame per station and window, encoded once for all such connections.
+ * Delta frames carry no SSE id, so resuming still works from the last raw event.
+ * <p>
+ * A connection may also carry a {@link StreamFilter}. Connections restricted to stations are
+ * indexed by station id, so a public event only visits the connections watching one of the
+ * stations it touches plus those without a station restriction.
+ * <p>
+ * The hub's own publisher mailbox is sized by {@code hub-queue-capacity} rather than the
+ * global subscriber settings, and never drops single events: if it overflows, the publisher
+ * evicts the hub, which re-subscribes and closes every connection so clients reconnect and
+ * resume from their last event id instead of silently missing events.
+ */
+@Component
+public class SseFanoutHub implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseFanoutHub.class);
+    // Upper bound on how many persisted events a reconnecting client is replayed from the database.
+    private static final int MAX_STORED_REPLAY = 1000;
+    // Power of two, at least as large as the publisher's ring.
+    private static final int FRAME_CACHE_SIZE = 512;
+
+    private final SimpleDomainEventPublisher publisher;
+    private final DomainEventLog eventLog;
+    private final int connectionQueueCapacity;
+    private final int hubQueueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final ObjectMapper objectMapper;
+    private final long coalesceWindowMillis;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final Set<Connection> operators = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Connection>> byUser = new ConcurrentHashMap<>();
+    private final Set<Connection> coalesced = ConcurrentHashMap.newKeySet();
+    private final Set<Connection> anyStation = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Connection>> byStation = new ConcurrentHashMap<>();
+
+    private final Object windowLock = new Object();
+    private final StationDeltaCoalescer window = new StationDeltaCoalescer();
+    private volatile boolean running;
+    private Thread flusher;
+
+    // Encoded frames by sequence, so replays to reconnecting clients reuse the live encoding.
+    private final AtomicReferenceArray<Frame> frames;
+    private final int frameMask;
+
+    public SseFanoutHub(SimpleDomainEventPublisher publisher,
+                        DomainEventLog eventLog,
+                        @Value("${sharecycle.events.sse.connection-queue-capacity:256}") int connectionQueueCapacity,
+                        @Value("${sharecycle.events.sse.overflow-policy:DROP_SUBSCRIBER}") OverflowPolicy overflowPolicy,
+                        @Value("${sharecycle.events.sse.coalesce-window-ms:250}") long coalesceWindowMillis,
+                        @Value("${sharecycle.events.sse.hub-queue-capacity:65536}") int hubQueueCapacity,
+                        ObjectMapper objectMapper) {
+        this.publisher = publisher;
+        this.eventLog = eventLog;
+        this.connectionQueueCapacity = Math.max(1, connectionQueueCapacity);
+        this.hubQueueCapacity = Math.max(1, hubQueueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.coalesceWindowMillis = Math.max(1, coalesceWindowMillis);
+        this.objectMapper = objectMapper;
+        this.frames = new AtomicReferenceArray<>(FRAME_CACHE_SIZE);
+        this.frameMask = FRAME_CACHE_SIZE - 1;
+    }
+
+    @PostConstruct
+    void attach() {
+        subscribeToPublisher();
+        running = true;
+        flusher = Thread.ofVirtual().name("sse-station-coalescer").start(this::runFlusher);
+    }
+
+    @PreDestroy
+    void detach() {
+        publisher.unsubscribe(this);
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void subscribeToPublisher() {
+        publisher.subscribe(this, DispatchMode.ASYNC, hubQueueCapacity, OverflowPolicy.DROP_SUBSCRIBER);
+    }
+
+    @Override
+    public void onDropped() {
+        if (!running) {
+            return;
+        }
+        // Events were lost for every connection; subscribe again for new ones and make current
+        // clients reconnect so they resume from their last event id.
+        logger.warn("SSE hub fell {} events behind the publisher; closing {} connections to resync",
+                hubQueueCapacity, connections.size());
+        subscribeToPublisher();
+        for (Connection connection : connections) {
+            unregister(connection);
+            connection.emitter.complete();
+        }
+    }
+
+    /**
+     * Opens a stream for the given viewer. When {@code lastEventId} is set only events after
+     * it are replayed; otherwise the recent-events window ({@code buffer-capacity}) is sent
+     * first.
+     */
+    public SseEmitter open(UUID userId, boolean isOperator, Long lastEventId, long timeoutMillis) {
+        return open(userId, isOperator, lastEventId, timeoutMillis, false);
+    }
+
+    /**
+     * As {@link #open(UUID, boolean, Long, long)}; with {@code coalesce} the stream carries
+     * per-station {@code StationDelta} frames instead of raw station events.
+     */
+    public SseEmitter open(UUID userId, boolean isOperator, Long lastEventId, long timeoutMillis, boolean coalesce) {
+        return open(userId, isOperator, lastEventId, timeoutMillis, coalesce, StreamFilter.ALL);
+    }
+
+    /**
+     * As {@link #open(UUID, boolean, Long, long, boolean)}, sending only frames that match
+     * {@code filter}, catch-up included.
+     */
+    public SseEmitter open(UUID userId, boolean isOperator, Long lastEventId, long timeoutMillis,
+                           boolean coalesce, StreamFilter filter) {
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Connection connection = new Connection(emitter, userId, isOperator, coalesce,
+                filter != null ? filter : StreamFilter.ALL);
+        register(connection);
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(ex -> unregister(connection));
+
+        connection.catchUp(lastEventId);
+        return emitter;
+    }
+
+    // Overridden in tests to capture what each connection is sent.
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        onEvent(event, publisher.lastSequence());
+    }
+
+    @Override
+    public void onEvent(DomainEvent event, long sequence) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Frame frame = frameFor(new SequencedEvent(sequence, event));
+        UUID owner = DomainEventVisibility.ownerOf(event);
+        if (!DomainEventVisibility.isPrivate(event)) {
+            boolean foldable = StationDeltaCoalescer.accepts(event);
+            if (foldable && !coalesced.isEmpty()) {
+                synchronized (windowLock) {
+                    window.add(sequence, event);
+                }
+            }
+            for (Connection connection : anyStation) {
+                if (!(foldable && connection.coalesce)) {
+                    connection.enqueue(frame);
+                }
+            }
+            for (UUID stationId : frame.stations()) {
+                for (Connection connection : byStation.getOrDefault(stationId, Set.of())) {
+                    if (!(foldable && connection.coalesce)) {
+                        connection.enqueue(frame);
+                    }
+                }
+            }
+            return;
+        }
+        for (Connection connection : operators) {
+            connection.enqueue(frame);
+        }
+        if (owner != null) {
+            for (Connection connection : byUser.getOrDefault(owner, Set.of())) {
+                if (!connection.isOperator) {
+                    connection.enqueue(frame);
+                }
+            }
+        }
+    }
+
+    private void register(Connection connection) {
+        connections.add(connection);
+        if (connection.isOperator) {
+            operators.add(connection);
+        }
+        if (connection.coalesce) {
+            coalesced.add(connection);
+        }
+        if (connection.filter.restrictsStations()) {
+            for (UUID stationId : connection.filter.stationIds()) {
+                byStation.computeIfAbsent(stationId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+            }
+        } else {
+            anyStation.add(connection);
+        }
+        if (connection.userId != null) {
+            byUser.computeIfAbsent(connection.userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connections.remove(connection);
+        operators.remove(connection);
+        coalesced.remove(connection);
+        anyStation.remove(connection);
+        for (UUID stationId : connection.filter.stationIds()) {
+            byStation.computeIfPresent(stationId, (id, set) -> {
+                set.remove(connection);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (connection.userId != null) {
+            byUser.computeIfPresent(connection.userId, (id, set) -> {
+                set.remove(connection);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        connection.close();
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                Thread.sleep(coalesceWindowMillis);
+            } catch (InterruptedException ex) {
+                if (!running) {
+                    return;
+                }
+            }
+            flushWindow();
+        }
+    }
+
+    private void flushWindow() {
+        List<StationDelta> deltas;
+        synchronized (windowLock) {
+            if (window.isEmpty()) {
+                return;
+            }
+            deltas = window.drain();
+        }
+        for (StationDelta delta : deltas) {
+            Frame frame = deltaFrame(delta);
+            if (frame == null) {
+                continue;
+            }
+            for (Connection connection : coalesced) {
+                connection.enqueue(frame);
+            }
+        }
+    }
+
+    private Frame deltaFrame(StationDelta delta) {
+        try {
+            byte[] bytes = encode((String) null, "StationDelta", objectMapper.writeValueAsString(delta));
+            return new Frame(delta.toSequence(), false, null, "StationDelta",
+                    new UUID[]{delta.stationId()}, bytes, false);
+        } catch (JsonProcessingException ex) {
+            logger.warn("Failed to encode station delta", ex);
+            return null;
+        }
+    }
+
+    private Frame frameFor(SequencedEvent sequenced) {
+        int slot = (int) (sequenced.sequence() & frameMask);
+        Frame cached = frames.get(slot);
+        if (cached != null && cached.sequence() == sequenced.sequence()) {
+            return cached;
+        }
+        DomainEvent event = sequenced.event();
+        String type = event.getClass().getSimpleName();
+        Frame frame = new Frame(
+                sequenced.sequence(),
+                DomainEventVisibility.isPrivate(event),
+                DomainEventVisibility.ownerOf(event),
+                type,
+                StreamFilter.stationsOf(event),
+                encode(sequenced.sequence(), type, DomainEventMessages.format(event)),
+                true);
+        frames.set(slot, frame);
+        return frame;
+    }
+
+    private static Frame frameFor(StoredDomainEvent stored) {
+        var ts = EventTimestamps.toLocal(stored.occurredAt())
+                .format(DateTimeFormatter.ISO_LOCAL_TIME);
+        return new Frame(
+                stored.sequence(),
+                DomainEventVisibility.PRIVATE_EVENT_TYPES.contains(stored.type()),
+                stored.principalUserId(),
+                stored.type(),
+                decode(stored).map(StreamFilter::stationsOf).orElse(StreamFilter.NO_STATIONS),
+                encode(stored.sequence(), stored.type(),
+                        "%s - %s".formatted(ts, DomainEventLog.describe(stored.payload(), stored.message()))),
+                true);
+    }
+
+    static byte[] encode(long sequence, String name, String data) {
+        return encode("id:" + sequence, name, data);
+    }
+
+    // A null idLine leaves the client's last event id untouched.
+    private static byte[] encode(String idLine, String name, String data) {
+        StringBuilder sb = new StringBuilder(data.length() + name.length() + 32);
+        if (idLine != null) {
+            sb.append(idLine).append('\n');
+        }
+        sb.append("event:").append(name).append('\n');
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            sb.append("data:").append(line).append('\n');
+        }
+        sb.append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Optional<DomainEvent> decode(StoredDomainEvent stored) {
+        try {
+            return EventCodecRegistry.standard().decode(stored.payload());
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private record Frame(long sequence, boolean isPrivate, UUID owner, String type, UUID[] stations,
+                         byte[] bytes, boolean numbered) {
+        boolean visibleTo(UUID userId, boolean isOperator) {
+            return isOperator || !isPrivate || (userId != null && userId.equals(owner));
+        }
+    }
+
+    /**
+     * One SSE client. Catch-up and live delivery both go through this object's monitor and
+     * {@code lastSent}, so a frame is written at most once and always in sequence order.
+     * Live frames drained before catch-up has run are skipped because catch-up reads the
+     * same events from the ring.
+     */
+    private final class Connection {
+        private final SseEmitter emitter;
+        private final UUID userId;
+        private final boolean isOperator;
+        private final boolean coalesce;
+        private final StreamFilter filter;
+        private final BoundedMailbox<Frame> mailbox;
+        private long lastSent;
+        private boolean caughtUp;
+
+        private Connection(SseEmitter emitter, UUID userId, boolean isOperator, boolean coalesce,
+                           StreamFilter filter) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.isOperator = isOperator;
+            this.coalesce = coalesce;
+            this.filter = filter;
+            this.mailbox = new BoundedMailbox<>("sse-" + (userId != null ? userId : "anonymous"),
+                    connectionQueueCapacity, overflowPolicy, 0, this::deliver, this::onOverflow);
+        }
+
+        private void enqueue(Frame frame) {
+            if (filter.matches(frame.type(), frame.stations())) {
+                mailbox.offer(frame);
+            }
+        }
+
+        private synchronized void deliver(Frame frame) {
+            if (!caughtUp) {
+                return;
+            }
+            try {
+                write(frame);
+            } catch (IOException ex) {
+                logger.debug("Failed to send SSE event", ex);
+            }
+        }
+
+        private synchronized void catchUp(Long lastEventId) {
+            long head = publisher.lastSequence();
+            // Station events replayed to a coalescing client are folded like live ones.
+            StationDeltaCoalescer folded = coalesce ? new StationDeltaCoalescer() : null;
+            try {
+                if (lastEventId == null || lastEventId > head) {
+                    // A fresh client sees the recent-events window, not whatever the ring still holds.
+                    for (SequencedEvent e : publisher.recentSequenced()) {
+                        replay(e, folded);
+                    }
+                    return;
+                }
+                long cursor = lastEventId;
+                long firstInMemory = publisher.firstAvailableSequence();
+                if (cursor + 1 < firstInMemory && eventLog != null) {
+                    long after = Math.max(cursor, firstInMemory - 1 - MAX_STORED_REPLAY);
+                    for (StoredDomainEvent stored : eventLog.readBetween(after, firstInMemory, MAX_STORED_REPLAY)) {
+                        replay(stored, folded);
+                    }
+                    cursor = Math.max(cursor, lastSent);
+                }
+                for (SequencedEvent e : publisher.readSince(cursor)) {
+                    replay(e, folded);
+                }
+            } catch (IOException ex) {
+                logger.debug("Failed to replay SSE events", ex);
+            } finally {
+                try {
+                    if (folded != null) {
+                        for (StationDelta delta : folded.drain()) {
+                            Frame frame = deltaFrame(delta);
+                            if (frame != null) {
+                                write(frame);
+                            }
+                        }
+                    }
+                } catch (IOException ex) {
+                    logger.debug("Failed to replay station deltas", ex);
+                }
+                caughtUp = true;
+            }
+        }
+
+        private void replay(SequencedEvent e, StationDeltaCoalescer folded) throws IOException {
+            if (folded != null && StationDeltaCoalescer.accepts(e.event())) {
+                if (e.sequence() > lastSent) {
+                    folded.add(e.sequence(), e.event());
+                    lastSent = e.sequence();
+                }
+                return;
+            }
+            write(frameFor(e));
+        }
+
+        private void replay(StoredDomainEvent stored, StationDeltaCoalescer folded) throws IOException {
+            if (folded != null) {
+                Optional<DomainEvent> event = decode(stored);
+                if (event.isPresent() && StationDeltaCoalescer.accepts(event.get())) {
+                    replay(new SequencedEvent(stored.sequence(), event.get()), folded);
+                    return;
+                }
+            }
+            write(frameFor(stored));
+        }
+
+        private void write(Frame frame) throws IOException {
+            if (frame.numbered()) {
+                if (frame.sequence() <= lastSent) {
+                    return;
+                }
+                lastSent = frame.sequence();
+            }
+            if (!frame.visibleTo(userId, isOperator) || !filter.matches(frame.type(), frame.stations())) {
+                return;
+            }
+            emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frame.bytes(), MediaType.TEXT_PLAIN)));
+        }
+
+        private void onOverflow() {
+            // The client fell too far behind; close so the browser reconnects and resumes.
+            unregister(this);
+            emitter.complete();
+        }
+
+        private void close() {
+            mailbox.close();
+        }
+    }
+}
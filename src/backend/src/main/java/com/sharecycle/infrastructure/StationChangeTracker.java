@@ -0,0 +1,115 @@
+package com.sharecycle.infrastructure;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records which stations have committed changes that in-memory read models have not yet
+ * picked up.
+ * <p>
+ * Changes made inside a transaction become visible here only after it commits, and before
+ * the committing request returns, so a read model that drains the tracker on every read
+ * serves a client's own writes back to it.
+ */
+@Component
+public class StationChangeTracker {
+
+    private final Object lock = new Object();
+    private Set<UUID> dirty = new HashSet<>();
+    private boolean everything;
+    private final AtomicLong changes = new AtomicLong();
+
+    public void stationChanged(UUID stationId) {
+        if (stationId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDirty(Set.of(stationId), false);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<UUID> held = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            Set<UUID> stations = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, stations);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StationChangeTracker.this);
+                    if (status == STATUS_COMMITTED) {
+                        markDirty(stations, false);
+                    }
+                }
+            });
+            held = stations;
+        }
+        held.add(stationId);
+    }
+
+    /**
+     * Marks every station stale, for writes that bypass entity callbacks such as bulk deletes.
+     * Inside a transaction this takes effect on commit.
+     */
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markDirty(Set.of(), true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    markDirty(Set.of(), true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cheap check for the read path: true when nothing changed since the last drain.
+     */
+    public boolean isClean() {
+        synchronized (lock) {
+            return !everything && dirty.isEmpty();
+        }
+    }
+
+    /**
+     * Takes the pending changes; {@link Pending#everything()} means a full rebuild is due.
+     */
+    public Pending drain() {
+        synchronized (lock) {
+            Pending pending = new Pending(everything, dirty);
+            dirty = new HashSet<>();
+            everything = false;
+            return pending;
+        }
+    }
+
+    /**
+     * Total number of committed change notifications, for diagnostics.
+     */
+    public long changeCount() {
+        return changes.get();
+    }
+
+    private void markDirty(Set<UUID> stations, boolean all) {
+        synchronized (lock) {
+            dirty.addAll(stations);
+            everything |= all;
+        }
+        changes.incrementAndGet();
+    }
+
+    public record Pending(boolean everything, Set<UUID> stationIds) {
+        public boolean isEmpty() {
+            return !everything && stationIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Latest known state of a station after merging every station-level event in one coalescing
+ * window. Fields no merged event carried are null; {@code bikes} holds the last status of
+ * each bike that changed at the station.
+ */
+public record StationDelta(UUID stationId,
+                           Station.StationStatus status,
+                           Integer capacity,
+                           Integer bikesDocked,
+                           Integer freeDocks,
+                           Map<UUID, Bike.BikeStatus> bikes,
+                           int merged,
+                           long fromSequence,
+                           long toSequence) {
+}
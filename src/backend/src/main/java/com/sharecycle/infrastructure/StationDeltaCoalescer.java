@@ -0,0 +1,96 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.BikeStatusChangedEvent;
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.StationCapacityChangedEvent;
+import com.sharecycle.domain.event.StationStatusChangedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Folds station-level events into one latest-state {@link StationDelta} per station.
+ * Not thread-safe; callers serialize access.
+ */
+final class StationDeltaCoalescer {
+
+    private final Map<UUID, Builder> pending = new LinkedHashMap<>();
+
+    /**
+     * Whether the event only describes the state of one station and can be merged.
+     */
+    static boolean accepts(DomainEvent event) {
+        return event instanceof StationStatusChangedEvent
+                || event instanceof StationCapacityChangedEvent
+                || (event instanceof BikeStatusChangedEvent bikeEvent && bikeEvent.stationId() != null);
+    }
+
+    void add(long sequence, DomainEvent event) {
+        if (event instanceof StationStatusChangedEvent e) {
+            builder(e.stationId(), sequence).counts(e.status(), e.capacity(), e.bikesDocked());
+        } else if (event instanceof StationCapacityChangedEvent e) {
+            builder(e.stationId(), sequence).counts(null, e.capacity(), e.bikesDocked());
+        } else if (event instanceof BikeStatusChangedEvent e && e.stationId() != null) {
+            builder(e.stationId(), sequence).bikes.put(e.bikeId(), e.status());
+        }
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * The merged deltas in first-touched order; the coalescer is empty afterwards.
+     */
+    List<StationDelta> drain() {
+        List<StationDelta> deltas = new ArrayList<>(pending.size());
+        for (Builder builder : pending.values()) {
+            deltas.add(builder.build());
+        }
+        pending.clear();
+        return deltas;
+    }
+
+    private Builder builder(UUID stationId, long sequence) {
+        Builder builder = pending.computeIfAbsent(stationId, id -> new Builder(id, sequence));
+        builder.lastSequence = Math.max(builder.lastSequence, sequence);
+        builder.merged++;
+        return builder;
+    }
+
+    private static final class Builder {
+        private final UUID stationId;
+        private final long firstSequence;
+        private long lastSequence;
+        private int merged;
+        private Station.StationStatus status;
+        private Integer capacity;
+        private Integer bikesDocked;
+        private final Map<UUID, Bike.BikeStatus> bikes = new LinkedHashMap<>();
+
+        private Builder(UUID stationId, long firstSequence) {
+            this.stationId = stationId;
+            this.firstSequence = firstSequence;
+            this.lastSequence = firstSequence;
+        }
+
+        private void counts(Station.StationStatus newStatus, int newCapacity, int newBikesDocked) {
+            if (newStatus != null) {
+                status = newStatus;
+            }
+            capacity = newCapacity;
+            bikesDocked = newBikesDocked;
+        }
+
+        private StationDelta build() {
+            Integer freeDocks = capacity != null && bikesDocked != null ? capacity - bikesDocked : null;
+            return new StationDelta(stationId, status, capacity, bikesDocked, freeDocks, Map.copyOf(bikes),
+                    merged, firstSequence, lastSequence);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.BikeMovedEvent;
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.infrastructure.codec.EventCodecRegistry;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * What one SSE connection wants to receive, compiled once when the stream opens.
+ * <p>
+ * {@code types} holds event type names ({@code TripEndedEvent}, {@code StationDelta}, ...)
+ * and {@code stationIds} the stations of interest; either may be null to mean "no
+ * restriction". With a station restriction, only events that touch one of the stations match.
+ */
+public final class StreamFilter {
+
+    public static final StreamFilter ALL = new StreamFilter(null, null);
+
+    static final UUID[] NO_STATIONS = new UUID[0];
+
+    private final Set<String> types;
+    private final Set<UUID> stationIds;
+
+    private StreamFilter(Set<String> types, Set<UUID> stationIds) {
+        this.types = types;
+        this.stationIds = stationIds;
+    }
+
+    /**
+     * Null arguments leave that dimension unrestricted. An empty {@code stationIds} matches
+     * no station, e.g. a bounding box that contains none.
+     */
+    public static StreamFilter of(Collection<String> types, Collection<UUID> stationIds) {
+        Set<String> typeSet = types == null || types.isEmpty() ? null : Set.copyOf(types);
+        Set<UUID> stationSet = stationIds == null ? null : Set.copyOf(stationIds);
+        if (typeSet == null && stationSet == null) {
+            return ALL;
+        }
+        return new StreamFilter(typeSet, stationSet);
+    }
+
+    public boolean restrictsStations() {
+        return stationIds != null;
+    }
+
+    public Set<UUID> stationIds() {
+        return stationIds != null ? stationIds : Set.of();
+    }
+
+    boolean matches(String type, UUID[] stations) {
+        if (this == ALL) {
+            return true;
+        }
+        if (types != null && !types.contains(type)) {
+            return false;
+        }
+        if (stationIds == null) {
+            return true;
+        }
+        for (UUID station : stations) {
+            if (stationIds.contains(station)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stations an event concerns, as indexed for storage plus the source of a bike move.
+     */
+    static UUID[] stationsOf(DomainEvent event) {
+        UUID indexed = EventCodecRegistry.standard().keysOf(event).stationId();
+        if (event instanceof BikeMovedEvent moved && moved.sourceStationId() != null
+                && !moved.sourceStationId().equals(indexed)) {
+            return indexed != null
+                    ? new UUID[]{moved.sourceStationId(), indexed}
+                    : new UUID[]{moved.sourceStationId()};
+        }
+        return indexed != null ? new UUID[]{indexed} : NO_STATIONS;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.model.LedgerEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps {@code trips} small by moving completed trips that ended more than {@code hot-months}
+ * ago, together with their ledger entries, into {@code trip_archive} and
+ * {@code ledger_entry_archive}. History queries read both tables (see
+ * {@link com.sharecycle.infrastructure.persistence.JpaTripRepository}).
+ * <p>
+ * Trips are moved oldest first in batches of {@code batch-size}, each batch in its own short
+ * transaction. A trip whose ledger entry is still pending stays hot so it can be paid. The
+ * default of 13 months keeps every trip the loyalty rules look at (the past year) hot.
+ */
+@Component
+public class TripArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TripArchiver.class);
+
+    private static final String TRIP_COLUMNS = "trip_id, user_id, bike_id, start_station_id, end_station_id, "
+            + "start_time, end_time, duration_minutes, trip_key, discount_rate";
+    private static final String LEDGER_COLUMNS = "ledger_id, user_id, trip_id, status, pricing_plan, description, "
+            + "bill_id, bill_computed_at, base_cost, time_cost, ebike_surcharge, total_cost, timestamp, "
+            + "flex_credit_applied";
+    private static final String CANDIDATES_SQL = "SELECT t.trip_id FROM trips t "
+            + "LEFT JOIN ledger_entry l ON l.trip_id = t.trip_id "
+            + "WHERE t.end_time IS NOT NULL AND t.end_time < ? AND (l.ledger_id IS NULL OR l.status <> ?) "
+            + "ORDER BY t.end_time LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int hotMonths;
+    private final int batchSize;
+
+    public TripArchiver(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${sharecycle.trips.archive.enabled:true}") boolean enabled,
+                        @Value("${sharecycle.trips.archive.hot-months:13}") int hotMonths,
+                        @Value("${sharecycle.trips.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.hotMonths = Math.max(1, hotMonths);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(cron = "${sharecycle.trips.archive.cron:0 45 3 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            archive(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Archives relative to {@code now} and returns how many trips were moved.
+     */
+    public long archive(LocalDateTime now) {
+        long began = System.nanoTime();
+        Timestamp before = Timestamp.valueOf(now.minusMonths(hotMonths));
+        long moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> moveBatch(before));
+            int batch = count != null ? count : 0;
+            moved += batch;
+            if (batch < batchSize) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            logger.info("trip archiving moved {} trips in {} ms", moved, (System.nanoTime() - began) / 1_000_000);
+        }
+        return moved;
+    }
+
+    private int moveBatch(Timestamp before) {
+        List<byte[]> tripIds = jdbcTemplate.queryForList(CANDIDATES_SQL, byte[].class,
+                before, LedgerEntry.LedgerStatus.PENDING.ordinal(), batchSize);
+        if (tripIds.isEmpty()) {
+            return 0;
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(tripIds.size(), "?")) + ")";
+        Object[] ids = tripIds.toArray();
+        jdbcTemplate.update("INSERT INTO trip_archive (" + TRIP_COLUMNS + ", archive_month) "
+                + "SELECT " + TRIP_COLUMNS + ", YEAR(end_time) * 100 + MONTH(end_time) FROM trips "
+                + "WHERE trip_id IN " + in, ids);
+        jdbcTemplate.update("INSERT INTO ledger_entry_archive (" + LEDGER_COLUMNS + ") "
+                + "SELECT " + LEDGER_COLUMNS + " FROM ledger_entry WHERE trip_id IN " + in, ids);
+        jdbcTemplate.update("DELETE FROM ledger_entry WHERE trip_id IN " + in, ids);
+        jdbcTemplate.update("DELETE FROM trips WHERE trip_id IN " + in, ids);
+        return tripIds.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.sharecycle.infrastructure;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed trip writes that bypass domain events, such as bulk deletes and system
+ * resets, so in-memory trip aggregates know to start over.
+ * <p>
+ * Trips ending arrive as {@code TripEndedEvent}s; everything else that adds or removes trips
+ * in bulk goes through {@link #invalidateAll()}. Readers compare {@link #generation()} with
+ * the value they last saw.
+ */
+@Component
+public class TripChangeTracker {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Marks everything derived from trips stale. Inside a transaction this takes effect on
+     * commit.
+     */
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    generation.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of committed invalidations so far; changes whenever cached trip aggregates must be
+     * dropped.
+     */
+    public long generation() {
+        return generation.get();
+    }
+}
@@ -0,0 +1,288 @@
+package com.sharecycle.infrastructure.codec;
+
+import com.sharecycle.domain.event.BikeMovedEvent;
+import com.sharecycle.domain.event.BikeStatusChangedEvent;
+import com.sharecycle.domain.event.BillIssued;
+import com.sharecycle.domain.event.BillIssuedEvent;
+import com.sharecycle.domain.event.FlexCreditAddedEvent;
+import com.sharecycle.domain.event.FlexCreditDeductedEvent;
+import com.sharecycle.domain.event.PaymentFailedEvent;
+import com.sharecycle.domain.event.PaymentStartedEvent;
+import com.sharecycle.domain.event.PaymentSucceedEvent;
+import com.sharecycle.domain.event.RebalanceAlertEvent;
+import com.sharecycle.domain.event.ReservationCreatedEvent;
+import com.sharecycle.domain.event.ReservationExpiredEvent;
+import com.sharecycle.domain.event.StationCapacityChangedEvent;
+import com.sharecycle.domain.event.StationStatusChangedEvent;
+import com.sharecycle.domain.event.TierUpdatedEvent;
+import com.sharecycle.domain.event.TripBilledEvent;
+import com.sharecycle.domain.event.TripEndedEvent;
+import com.sharecycle.domain.event.TripStartedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.LoyaltyTier;
+import com.sharecycle.domain.model.Rider;
+import com.sharecycle.domain.model.Station;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary schemas for every event in {@code com.sharecycle.domain.event}.
+ * <p>
+ * Type ids are persisted and must never be reassigned. To change a layout, bump the
+ * schema's version and teach its reader the new version while keeping the old branch.
+ */
+final class DomainEventSchemas {
+
+    private DomainEventSchemas() {
+    }
+
+    static List<EventSchema<?>> all() {
+        return List.of(
+                new EventSchema<>(1, 1, TripStartedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.tripID());
+                            out.writeDateTime(e.startTime());
+                            out.writeDateTime(e.endTime());
+                            out.writeSignedInt(e.durationMinutes());
+                            out.writeUuid(e.rider() != null ? e.rider().getUserId() : null);
+                            out.writeUuid(e.bike() != null ? e.bike().getId() : null);
+                            out.writeEnum(e.bike() != null ? e.bike().getType() : null);
+                            out.writeUuid(e.startStation() != null ? e.startStation().getId() : null);
+                            out.writeUuid(e.endStation() != null ? e.endStation().getId() : null);
+                        },
+                        (in, version) -> {
+                            UUID tripId = in.readUuid();
+                            LocalDateTime startTime = in.readDateTime();
+                            LocalDateTime endTime = in.readDateTime();
+                            int duration = in.readSignedInt();
+                            UUID riderId = in.readUuid();
+                            UUID bikeId = in.readUuid();
+                            Bike.BikeType bikeType = in.readEnum(Bike.BikeType.class);
+                            UUID startStationId = in.readUuid();
+                            UUID endStationId = in.readUuid();
+                            return new TripStartedEvent(tripId, startTime, endTime, duration,
+                                    riderRef(riderId), bikeRef(bikeId, bikeType),
+                                    stationRef(startStationId), stationRef(endStationId));
+                        },
+                        e -> new EventKeys(
+                                e.rider() != null ? e.rider().getUserId() : null,
+                                e.startStation() != null ? e.startStation().getId() : null,
+                                e.bike() != null ? e.bike().getId() : null,
+                                e.tripID())),
+
+                // v1 carried only the trip id.
+                new EventSchema<>(2, 2, TripEndedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.tripId());
+                            out.writeUuid(e.riderId());
+                            out.writeUuid(e.bikeId());
+                            out.writeEnum(e.bikeType());
+                            out.writeUuid(e.endStationId());
+                            out.writeDateTime(e.endedAt());
+                        },
+                        (in, version) -> version == 1
+                                ? new TripEndedEvent(in.readUuid())
+                                : new TripEndedEvent(in.readUuid(), in.readUuid(), in.readUuid(),
+                                        in.readEnum(Bike.BikeType.class), in.readUuid(), in.readDateTime()),
+                        e -> new EventKeys(e.riderId(), e.endStationId(), e.bikeId(), e.tripId())),
+
+                new EventSchema<>(3, 1, TripBilledEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.tripId());
+                            out.writeUuid(e.ledgerId());
+                        },
+                        (in, version) -> new TripBilledEvent(in.readUuid(), in.readUuid()),
+                        e -> new EventKeys(null, null, null, e.tripId())),
+
+                new EventSchema<>(4, 1, BillIssuedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.tripId());
+                            out.writeUuid(e.riderId());
+                            out.writeUuid(e.billId());
+                            out.writeUuid(e.ledgerId());
+                            out.writeDateTime(e.computedAt());
+                            out.writeDouble(e.baseCost());
+                            out.writeDouble(e.timeCost());
+                            out.writeDouble(e.eBikeSurcharge());
+                            out.writeDouble(e.totalCost());
+                            out.writeString(e.pricingPlan());
+                            out.writeDouble(e.discountRate());
+                            out.writeDouble(e.discountAmount());
+                            out.writeDouble(e.flexCreditApplied());
+                        },
+                        (in, version) -> new BillIssuedEvent(
+                                in.readUuid(), in.readUuid(), in.readUuid(), in.readUuid(),
+                                in.readDateTime(),
+                                in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                                in.readString(),
+                                in.readDouble(), in.readDouble(), in.readDouble()),
+                        e -> new EventKeys(e.riderId(), null, null, e.tripId())),
+
+                new EventSchema<>(5, 1, BillIssued.class,
+                        (e, out) -> {
+                            out.writeUuid(e.billId());
+                            out.writeUuid(e.tripId());
+                            out.writeUuid(e.ledgerId());
+                            out.writeSignedLong(e.amountCents());
+                            out.writeString(e.currency());
+                            out.writeString(e.description());
+                            out.writeDateTime(e.occurredAt());
+                        },
+                        (in, version) -> new BillIssued(
+                                in.readUuid(), in.readUuid(), in.readUuid(),
+                                in.readSignedLong(), in.readString(), in.readString(), in.readDateTime()),
+                        e -> new EventKeys(null, null, null, e.tripId())),
+
+                new EventSchema<>(6, 1, PaymentStartedEvent.class,
+                        (e, out) -> writePayment(out, e.riderId(), e.tripId(), e.msg(), e.occurredAt()),
+                        (in, version) -> new PaymentStartedEvent(in.readUuid(), in.readUuid(), in.readString(), in.readDateTime()),
+                        e -> new EventKeys(e.riderId(), null, null, e.tripId())),
+
+                new EventSchema<>(7, 1, PaymentSucceedEvent.class,
+                        (e, out) -> writePayment(out, e.riderId(), e.tripId(), e.msg(), e.occurredAt()),
+                        (in, version) -> new PaymentSucceedEvent(in.readUuid(), in.readUuid(), in.readString(), in.readDateTime()),
+                        e -> new EventKeys(e.riderId(), null, null, e.tripId())),
+
+                new EventSchema<>(8, 1, PaymentFailedEvent.class,
+                        (e, out) -> writePayment(out, e.riderId(), e.tripId(), e.msg(), e.occurredAt()),
+                        (in, version) -> new PaymentFailedEvent(in.readUuid(), in.readUuid(), in.readString(), in.readDateTime()),
+                        e -> new EventKeys(e.riderId(), null, null, e.tripId())),
+
+                new EventSchema<>(9, 1, ReservationCreatedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.getReservationId());
+                            out.writeUuid(e.getRiderId());
+                        },
+                        (in, version) -> new ReservationCreatedEvent(in.readUuid(), in.readUuid()),
+                        e -> new EventKeys(e.getRiderId(), null, null, null)),
+
+                new EventSchema<>(10, 1, ReservationExpiredEvent.class,
+                        (e, out) -> out.writeUuid(e.getReservationId()),
+                        (in, version) -> new ReservationExpiredEvent(in.readUuid()),
+                        e -> EventKeys.NONE),
+
+                new EventSchema<>(11, 1, BikeStatusChangedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.bikeId());
+                            out.writeEnum(e.status());
+                            out.writeUuid(e.stationId());
+                            out.writeDateTime(e.occurredAt());
+                        },
+                        (in, version) -> new BikeStatusChangedEvent(
+                                in.readUuid(), in.readEnum(Bike.BikeStatus.class), in.readUuid(), in.readDateTime()),
+                        e -> new EventKeys(null, e.stationId(), e.bikeId(), null)),
+
+                new EventSchema<>(12, 1, BikeMovedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.bikeId());
+                            out.writeUuid(e.sourceStationId());
+                            out.writeUuid(e.destinationStationId());
+                        },
+                        (in, version) -> new BikeMovedEvent(in.readUuid(), in.readUuid(), in.readUuid()),
+                        e -> new EventKeys(null, e.destinationStationId(), e.bikeId(), null)),
+
+                new EventSchema<>(13, 1, StationStatusChangedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.stationId());
+                            out.writeEnum(e.status());
+                            out.writeSignedInt(e.capacity());
+                            out.writeSignedInt(e.bikesDocked());
+                        },
+                        (in, version) -> new StationStatusChangedEvent(
+                                in.readUuid(), in.readEnum(Station.StationStatus.class), in.readSignedInt(), in.readSignedInt()),
+                        e -> new EventKeys(null, e.stationId(), null, null)),
+
+                new EventSchema<>(14, 1, StationCapacityChangedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.stationId());
+                            out.writeSignedInt(e.capacity());
+                            out.writeSignedInt(e.bikesDocked());
+                            out.writeSignedInt(e.freeDocks());
+                        },
+                        (in, version) -> new StationCapacityChangedEvent(
+                                in.readUuid(), in.readSignedInt(), in.readSignedInt(), in.readSignedInt()),
+                        e -> new EventKeys(null, e.stationId(), null, null)),
+
+                new EventSchema<>(15, 1, RebalanceAlertEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.stationId());
+                            out.writeString(e.stationName());
+                            out.writeString(e.address());
+                            out.writeDouble(e.latitude());
+                            out.writeDouble(e.longitude());
+                            out.writeSignedInt(e.capacity());
+                        },
+                        (in, version) -> new RebalanceAlertEvent(
+                                in.readUuid(), in.readString(), in.readString(),
+                                in.readDouble(), in.readDouble(), in.readSignedInt()),
+                        e -> new EventKeys(null, e.stationId(), null, null)),
+
+                new EventSchema<>(16, 1, FlexCreditAddedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.userId());
+                            out.writeDouble(e.amount());
+                            out.writeDateTime(e.occuredAt());
+                        },
+                        (in, version) -> new FlexCreditAddedEvent(in.readUuid(), in.readDouble(), in.readDateTime()),
+                        e -> new EventKeys(e.userId(), null, null, null)),
+
+                new EventSchema<>(17, 1, FlexCreditDeductedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.userId());
+                            out.writeDouble(e.amount());
+                            out.writeDateTime(e.occuredAt());
+                        },
+                        (in, version) -> new FlexCreditDeductedEvent(in.readUuid(), in.readDouble(), in.readDateTime()),
+                        e -> new EventKeys(e.userId(), null, null, null)),
+
+                new EventSchema<>(18, 1, TierUpdatedEvent.class,
+                        (e, out) -> {
+                            out.writeUuid(e.riderId());
+                            out.writeEnum(e.oldTier());
+                            out.writeEnum(e.newTier());
+                            out.writeString(e.reason());
+                            out.writeDateTime(e.occurredAt());
+                        },
+                        (in, version) -> new TierUpdatedEvent(
+                                in.readUuid(), in.readEnum(LoyaltyTier.class), in.readEnum(LoyaltyTier.class),
+                                in.readString(), in.readDateTime()),
+                        e -> new EventKeys(e.riderId(), null, null, null))
+        );
+    }
+
+    private static void writePayment(EventOutput out, UUID riderId, UUID tripId, String msg, LocalDateTime occurredAt) {
+        out.writeUuid(riderId);
+        out.writeUuid(tripId);
+        out.writeString(msg);
+        out.writeDateTime(occurredAt);
+    }
+
+    // Decoded trip events only carry identifiers, so the referenced aggregates are thin stubs.
+
+    private static Rider riderRef(UUID riderId) {
+        if (riderId == null) {
+            return null;
+        }
+        Rider rider = new Rider();
+        rider.setUserId(riderId);
+        return rider;
+    }
+
+    private static Bike bikeRef(UUID bikeId, Bike.BikeType type) {
+        if (bikeId == null) {
+            return null;
+        }
+        return new Bike(bikeId, type, Bike.BikeStatus.ON_TRIP, null, null);
+    }
+
+    private static Station stationRef(UUID stationId) {
+        if (stationId == null) {
+            return null;
+        }
+        Station station = new Station();
+        station.setId(stationId);
+        return station;
+    }
+}
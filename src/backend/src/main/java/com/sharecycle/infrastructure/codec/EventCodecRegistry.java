@@ -0,0 +1,108 @@
+package com.sharecycle.infrastructure.codec;
+
+import com.sharecycle.domain.event.DomainEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Encodes domain events into compact, versioned binary payloads and decodes them back.
+ * <p>
+ * A payload is a format byte, the schema's type id and layout version (both varints), then
+ * the body written by the schema. Decoding dispatches on the stored type id and hands the
+ * stored version to the schema's reader, so payloads written by older layouts stay readable.
+ */
+public final class EventCodecRegistry {
+
+    static final int FORMAT = 1;
+
+    private static final EventCodecRegistry STANDARD = new EventCodecRegistry(DomainEventSchemas.all());
+    private static final ThreadLocal<EventOutput> SCRATCH = ThreadLocal.withInitial(() -> new EventOutput(256));
+
+    private final Map<Class<?>, EventSchema<?>> byType = new HashMap<>();
+    private final Map<Integer, EventSchema<?>> byTypeId = new HashMap<>();
+
+    public EventCodecRegistry(List<EventSchema<?>> schemas) {
+        for (EventSchema<?> schema : schemas) {
+            if (byTypeId.putIfAbsent(schema.typeId(), schema) != null) {
+                throw new IllegalArgumentException("duplicate event type id " + schema.typeId());
+            }
+            if (byType.putIfAbsent(schema.type(), schema) != null) {
+                throw new IllegalArgumentException("duplicate schema for " + schema.type().getName());
+            }
+        }
+    }
+
+    /**
+     * The registry holding a schema for every event in {@code com.sharecycle.domain.event}.
+     */
+    public static EventCodecRegistry standard() {
+        return STANDARD;
+    }
+
+    public boolean supports(DomainEvent event) {
+        return event != null && byType.containsKey(event.getClass());
+    }
+
+    /**
+     * Binary payload for the event, or {@code null} when no schema is registered for its type.
+     */
+    public byte[] encode(DomainEvent event) {
+        EventSchema<DomainEvent> schema = schemaFor(event);
+        if (schema == null) {
+            return null;
+        }
+        EventOutput out = SCRATCH.get();
+        out.reset();
+        out.writeByte(FORMAT)
+                .writeVarInt(schema.typeId())
+                .writeVarInt(schema.version());
+        schema.writer().write(event, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a payload produced by {@link #encode(DomainEvent)}. Empty when the payload is
+     * missing or its type id is unknown; throws {@link IllegalArgumentException} when the
+     * payload is corrupt.
+     */
+    public Optional<DomainEvent> decode(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return Optional.empty();
+        }
+        EventInput in = new EventInput(payload);
+        int format = in.readByte();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("unsupported event payload format " + format);
+        }
+        EventSchema<?> schema = byTypeId.get(in.readVarInt());
+        if (schema == null) {
+            return Optional.empty();
+        }
+        int version = in.readVarInt();
+        if (version > schema.version()) {
+            throw new IllegalArgumentException("payload version " + version + " of "
+                    + schema.type().getSimpleName() + " is newer than this build");
+        }
+        return Optional.of(schema.reader().read(in, version));
+    }
+
+    /**
+     * The identifiers to index the event by; {@link EventKeys#NONE} for unknown types.
+     */
+    public EventKeys keysOf(DomainEvent event) {
+        EventSchema<DomainEvent> schema = schemaFor(event);
+        if (schema == null) {
+            return EventKeys.NONE;
+        }
+        EventKeys keys = schema.keys().apply(event);
+        return keys != null ? keys : EventKeys.NONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    private EventSchema<DomainEvent> schemaFor(DomainEvent event) {
+        return event == null ? null : (EventSchema<DomainEvent>) byType.get(event.getClass());
+    }
+}
@@ -0,0 +1,109 @@
+package com.sharecycle.infrastructure.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Reads values written by {@link EventOutput}, in the same order.
+ */
+public final class EventInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    public EventInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalArgumentException("truncated event payload");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint in event payload");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public long readSignedLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public int readSignedInt() {
+        return (int) readSignedLong();
+    }
+
+    public double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte();
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public UUID readUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | readByte();
+        }
+        for (int i = 0; i < 8; i++) {
+            lsb = (lsb << 8) | readByte();
+        }
+        return new UUID(msb, lsb);
+    }
+
+    public String readString() {
+        if (readByte() == 0) {
+            return null;
+        }
+        int length = readVarInt();
+        if (length < 0 || position + length > buffer.length) {
+            throw new IllegalArgumentException("truncated event payload");
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (readByte() == 0) {
+            return null;
+        }
+        long seconds = readSignedLong();
+        int nanos = readVarInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
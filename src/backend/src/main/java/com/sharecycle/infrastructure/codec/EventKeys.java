@@ -0,0 +1,11 @@
+package com.sharecycle.infrastructure.codec;
+
+import java.util.UUID;
+
+/**
+ * The indexed identifiers stored alongside an event's payload.
+ */
+public record EventKeys(UUID principalUserId, UUID stationId, UUID bikeId, UUID tripId) {
+
+    public static final EventKeys NONE = new EventKeys(null, null, null, null);
+}
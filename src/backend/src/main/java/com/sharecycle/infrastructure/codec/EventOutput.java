@@ -0,0 +1,128 @@
+package com.sharecycle.infrastructure.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Growable byte sink for the binary event format. Integers are written as LEB128 varints
+ * (zig-zag for signed values), UUIDs as 16 raw bytes and strings as a varint length followed
+ * by UTF-8. Nullable values carry a one-byte presence flag.
+ */
+public final class EventOutput {
+
+    private byte[] buffer;
+    private int position;
+
+    public EventOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void reset() {
+        position = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public EventOutput writeByte(int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public EventOutput writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public EventOutput writeVarInt(int value) {
+        return writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public EventOutput writeSignedLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public EventOutput writeSignedInt(int value) {
+        return writeSignedLong(value);
+    }
+
+    public EventOutput writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+        return this;
+    }
+
+    public EventOutput writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    public EventOutput writeUuid(UUID value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        ensure(16);
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (msb >>> shift);
+        }
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (lsb >>> shift);
+        }
+        return this;
+    }
+
+    public EventOutput writeString(String value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public EventOutput writeEnum(Enum<?> value) {
+        return writeString(value == null ? null : value.name());
+    }
+
+    /**
+     * Local date-times are stored as seconds and nanos of the same wall-clock reading taken
+     * as UTC, so decoding gives back exactly the value that was written.
+     */
+    public EventOutput writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        writeSignedLong(value.toEpochSecond(ZoneOffset.UTC));
+        return writeVarInt(value.getNano());
+    }
+
+    private void ensure(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
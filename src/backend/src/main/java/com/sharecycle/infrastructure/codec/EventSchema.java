@@ -0,0 +1,34 @@
+package com.sharecycle.infrastructure.codec;
+
+import com.sharecycle.domain.event.DomainEvent;
+
+import java.util.function.Function;
+
+/**
+ * How one event type is written to and read from the binary format.
+ *
+ * @param typeId  stable identifier stored in the payload header; never reuse a retired id
+ * @param version layout version written by {@code writer}; bump it whenever the layout
+ *                changes and keep {@code reader} able to read every older version
+ * @param type    the event class
+ * @param writer  writes the event body
+ * @param reader  reads a body of the given version back into an event
+ * @param keys    extracts the indexed identifiers
+ */
+public record EventSchema<E extends DomainEvent>(int typeId,
+                                                 int version,
+                                                 Class<E> type,
+                                                 Writer<E> writer,
+                                                 Reader<E> reader,
+                                                 Function<E, EventKeys> keys) {
+
+    @FunctionalInterface
+    public interface Writer<E> {
+        void write(E event, EventOutput out);
+    }
+
+    @FunctionalInterface
+    public interface Reader<E> {
+        E read(EventInput in, int version);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sharecycle.infrastructure.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of event history. Pass {@code nextBefore} back as {@code before} to get the next
+ * page; it is null on the last one.
+ */
+public record EventHistoryPage(List<Entry> events, Long nextBefore) {
+
+    public record Entry(long sequence, String type, String description, Instant occurredAt) {
+    }
+}
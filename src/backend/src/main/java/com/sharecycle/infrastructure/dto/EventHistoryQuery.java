@@ -0,0 +1,16 @@
+package com.sharecycle.infrastructure.dto;
+
+import java.util.UUID;
+
+/**
+ * Filter and cursor for a page of event history. Null filters match everything; results are
+ * newest first and strictly older than {@code before} when it is set.
+ */
+public record EventHistoryQuery(String type,
+                                UUID stationId,
+                                UUID bikeId,
+                                UUID tripId,
+                                Long before,
+                                int limit,
+                                boolean includeArchive) {
+}
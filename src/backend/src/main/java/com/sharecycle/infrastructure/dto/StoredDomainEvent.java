@@ -0,0 +1,12 @@
+package com.sharecycle.infrastructure.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StoredDomainEvent(long sequence,
+                                String type,
+                                String message,
+                                byte[] payload,
+                                UUID principalUserId,
+                                Instant occurredAt) {
+}
@@ -1,8 +1,12 @@
 package com.sharecycle.infrastructure.persistence;
 
+import com.sharecycle.infrastructure.dto.EventHistoryQuery;
+import com.sharecycle.infrastructure.dto.StoredDomainEvent;
+import com.sharecycle.infrastructure.persistence.jpa.JpaArchivedDomainEventEntity;
 import com.sharecycle.infrastructure.persistence.jpa.JpaDomainEventEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
@@ -26,4 +30,83 @@ public class JpaDomainEventRepository {
                 .setMaxResults(limit)
                 .getResultList();
     }
+
+    /**
+     * Events numbered strictly between {@code after} and {@code before}, oldest first.
+     */
+    public List<JpaDomainEventEntity> findBetweenSequences(long after, long before, int limit) {
+        return entityManager.createQuery(
+                        "select e from JpaDomainEventEntity e " +
+                                "where e.sequenceNo > :after and e.sequenceNo < :before " +
+                                "order by e.sequenceNo asc",
+                        JpaDomainEventEntity.class)
+                .setParameter("after", after)
+                .setParameter("before", before)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long findMaxSequence() {
+        Long max = entityManager.createQuery(
+                        "select max(e.sequenceNo) from JpaDomainEventEntity e", Long.class)
+                .getSingleResult();
+        return max != null ? max : 0L;
+    }
+
+    /**
+     * Newest-first page of live events matching the query. Each filter lines up with a
+     * {@code (column, sequence_no)} index, so the cost depends on the page size, not on
+     * how many events are stored.
+     */
+    public List<StoredDomainEvent> findHistory(EventHistoryQuery query, long before, int limit) {
+        return historyQuery(JpaDomainEventEntity.class, query, before, limit).getResultList().stream()
+                .map(e -> new StoredDomainEvent(e.getSequenceNo(), e.getEventType(), e.getMessage(),
+                        e.getPayload(), e.getPrincipalUserId(), e.getOccurredAt()))
+                .toList();
+    }
+
+    /**
+     * Same as {@link #findHistory} against {@code domain_event_archive}.
+     */
+    public List<StoredDomainEvent> findArchivedHistory(EventHistoryQuery query, long before, int limit) {
+        return historyQuery(JpaArchivedDomainEventEntity.class, query, before, limit).getResultList().stream()
+                .map(e -> new StoredDomainEvent(e.getSequenceNo(), e.getEventType(), e.getMessage(),
+                        e.getPayload(), e.getPrincipalUserId(), e.getOccurredAt()))
+                .toList();
+    }
+
+    private <T> TypedQuery<T> historyQuery(Class<T> entity, EventHistoryQuery query, long before, int limit) {
+        StringBuilder jpql = new StringBuilder("select e from ").append(entity.getSimpleName())
+                .append(" e where e.sequenceNo < :before");
+        if (query.type() != null) {
+            jpql.append(" and e.eventType = :type");
+        }
+        if (query.stationId() != null) {
+            jpql.append(" and e.stationId = :stationId");
+        }
+        if (query.bikeId() != null) {
+            jpql.append(" and e.bikeId = :bikeId");
+        }
+        if (query.tripId() != null) {
+            jpql.append(" and e.tripId = :tripId");
+        }
+        jpql.append(" order by e.sequenceNo desc");
+
+        TypedQuery<T> typed = entityManager.createQuery(jpql.toString(), entity)
+                .setParameter("before", before)
+                .setMaxResults(limit);
+        if (query.type() != null) {
+            typed.setParameter("type", query.type());
+        }
+        if (query.stationId() != null) {
+            typed.setParameter("stationId", query.stationId());
+        }
+        if (query.bikeId() != null) {
+            typed.setParameter("bikeId", query.bikeId());
+        }
+        if (query.tripId() != null) {
+            typed.setParameter("tripId", query.tripId());
+        }
+        return typed;
+    }
 }
@@ -1,16 +1,23 @@
 package com.sharecycle.infrastructure.persistence;
 
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Dock;
 import com.sharecycle.domain.model.Station;
 import com.sharecycle.domain.repository.JpaStationRepository;
 import com.sharecycle.infrastructure.persistence.jpa.JpaStationEntity;
 import com.sharecycle.infrastructure.persistence.jpa.MapperContext;
+import com.sharecycle.model.dto.StationSummaryDto;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -18,30 +25,142 @@ import java.util.stream.Collectors;
 @Transactional
 public class JpaStationRepositoryImpl implements JpaStationRepository {
 
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    /**
+     * Every station with its docks and docked bikes in a single statement. Docked bikes point
+     * back at stations loaded by the same query, so mapping to the domain issues no further
+     * selects however many stations there are.
+     */
+    private static final String FIND_ALL_WITH_DOCKS = "select distinct s from JpaStationEntity s "
+            + "left join fetch s.docks d "
+            + "left join fetch d.occupiedBike";
+
+    /**
+     * One row per station with its dock and bike counts; no dock or bike entity is loaded.
+     */
+    private static final String SUMMARY_SELECT = "select s.stationId, s.name, s.status, s.latitude, s.longitude, "
+            + "count(d), "
+            + "sum(case when d.status = :occupied then 1 else 0 end), "
+            + "sum(case when b.status = :available then 1 else 0 end), "
+            + "sum(case when b.type = :eBike then 1 else 0 end), "
+            + "sum(case when b.type = :eBike and b.status = :available then 1 else 0 end) "
+            + "from JpaStationEntity s "
+            + "left join s.docks d "
+            + "left join d.occupiedBike b ";
+
+    private static final String SUMMARY_GROUP_BY = "group by s.stationId, s.name, s.status, s.latitude, s.longitude";
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Station findById(UUID id) {
-        JpaStationEntity entity = entityManager.find(JpaStationEntity.class, id);
+        JpaStationEntity entity = entityManager.find(JpaStationEntity.class, id,
+                Map.of(FETCH_GRAPH, withDocksAndBikes()));
         return entity != null ? entity.toDomain(new MapperContext()) : null;
     }
 
     @Override
     public Station findByIdForUpdate(UUID id) {
+        // Lock the station row alone, then fill in docks and bikes with one graph query.
         JpaStationEntity entity = entityManager.find(JpaStationEntity.class, id, LockModeType.PESSIMISTIC_WRITE);
-        return entity != null ? entity.toDomain(new MapperContext()) : null;
+        if (entity == null) {
+            return null;
+        }
+        entityManager.createQuery("select s from JpaStationEntity s where s.stationId = :id", JpaStationEntity.class)
+                .setParameter("id", id)
+                .setHint(FETCH_GRAPH, withDocksAndBikes())
+                .getResultList();
+        return entity.toDomain(new MapperContext());
     }
 
     @Override
     public List<Station> findAll() {
         MapperContext context = new MapperContext();
-        return entityManager.createQuery("from JpaStationEntity", JpaStationEntity.class)
-                .getResultStream()
+        return entityManager.createQuery(FIND_ALL_WITH_DOCKS, JpaStationEntity.class)
+                .getResultList()
+                .stream()
                 .map(entity -> entity.toDomain(context))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Station> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapperContext context = new MapperContext();
+        return entityManager.createQuery(FIND_ALL_WITH_DOCKS + " where s.stationId in :ids", JpaStationEntity.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .map(entity -> entity.toDomain(context))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StationSummaryDto> findAllSummaries() {
+        return summaryQuery(SUMMARY_SELECT + SUMMARY_GROUP_BY)
+                .getResultStream()
+                .map(JpaStationRepositoryImpl::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StationSummaryDto> findSummariesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return summaryQuery(SUMMARY_SELECT + "where s.stationId in :ids " + SUMMARY_GROUP_BY)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .map(JpaStationRepositoryImpl::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    private TypedQuery<Object[]> summaryQuery(String jpql) {
+        return entityManager.createQuery(jpql, Object[].class)
+                .setParameter("occupied", Dock.DockStatus.OCCUPIED)
+                .setParameter("available", Bike.BikeStatus.AVAILABLE)
+                .setParameter("eBike", Bike.BikeType.E_BIKE);
+    }
+
+    /**
+     * Counts are derived the way {@link Station#setDocks} derives them: capacity is the number
+     * of docks and bikes docked the number of occupied docks. A dock-less {@link Station}
+     * applies the status and fullness rules so they stay in one place.
+     */
+    private static StationSummaryDto toSummary(Object[] row) {
+        int capacity = toInt(row[5]);
+        int bikesDocked = toInt(row[6]);
+        Station counts = new Station((UUID) row[0], (String) row[1], (Station.StationStatus) row[2],
+                (Double) row[3], (Double) row[4], null, capacity, 0);
+        counts.setBikesDocked(bikesDocked);
+        return new StationSummaryDto(
+                counts.getId(),
+                counts.getName(),
+                counts.getStatus(),
+                toInt(row[7]),
+                bikesDocked,
+                toInt(row[8]),
+                toInt(row[9]),
+                capacity,
+                counts.getFreeDockCount(),
+                counts.getLatitude(),
+                counts.getLongitude(),
+                counts.getFullnessCategory()
+        );
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private EntityGraph<?> withDocksAndBikes() {
+        return entityManager.getEntityGraph(JpaStationEntity.WITH_DOCKS_AND_BIKES);
+    }
+
     @Override
     public void save(Station station) {
         MapperContext context = new MapperContext();
@@ -1,15 +1,24 @@
 package com.sharecycle.infrastructure.persistence;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.LedgerEntry;
 import com.sharecycle.domain.model.Trip;
 import com.sharecycle.domain.repository.TripRepository;
+import com.sharecycle.infrastructure.TripChangeTracker;
 import com.sharecycle.infrastructure.persistence.jpa.JpaTripEntity;
 import com.sharecycle.infrastructure.persistence.jpa.MapperContext;
 
@@ -22,9 +31,46 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class JpaTripRepository implements TripRepository {
 
+    /**
+     * Joins behind {@link #filterPredicates}. Left joins because archived trips keep no foreign
+     * keys and outlive their rider, bike and station rows; pages, counts and exports all use
+     * these so they agree on which trips exist.
+     */
+    private static final String FILTER_JOINS = " LEFT JOIN t.rider r LEFT JOIN t.bike b";
+
+    /**
+     * Flat history columns. The ledger join matches at most one row per trip (uq_ledger_trip).
+     */
+    private static final String HISTORY_COLUMNS = "SELECT t.tripId, r.userId, r.fullName, r.username, ss.name, es.name,"
+            + " t.startTime, t.endTime, t.durationMinutes, b.type, b.bikeId, l.ledgerId, l.totalCost, l.status";
+    private static final String HOT_HISTORY_FROM = " FROM JpaTripEntity t" + FILTER_JOINS
+            + " LEFT JOIN t.startStation ss LEFT JOIN t.endStation es LEFT JOIN JpaLedgerEntryEntity l ON l.trip = t";
+    private static final String ARCHIVED_HISTORY_FROM = " FROM JpaArchivedTripEntity t" + FILTER_JOINS
+            + " LEFT JOIN t.startStation ss LEFT JOIN t.endStation es"
+            + " LEFT JOIN JpaArchivedLedgerEntryEntity l ON l.tripId = t.tripId";
+    private static final String HISTORY_ORDER = " ORDER BY t.endTime DESC, t.startTime DESC, t.tripId DESC";
+
+    /**
+     * {@link #HISTORY_ORDER} in Java, for merging hot and archived rows. Binary trip ids sort as
+     * unsigned bytes in the database, which is unsigned order on the two halves of the UUID.
+     */
+    private static final Comparator<HistoryRow> HISTORY_ROW_ORDER = Comparator
+            .comparing(HistoryRow::endTime, Comparator.reverseOrder())
+            .thenComparing(HistoryRow::startTime, Comparator.reverseOrder())
+            .thenComparing(HistoryRow::tripId, (a, b) -> {
+                int high = Long.compareUnsigned(b.getMostSignificantBits(), a.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(b.getLeastSignificantBits(), a.getLeastSignificantBits());
+            });
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final TripChangeTracker tripChangeTracker;
+
+    public JpaTripRepository(TripChangeTracker tripChangeTracker) {
+        this.tripChangeTracker = tripChangeTracker;
+    }
+
     @Override
     public void save(Trip trip) {
         MapperContext context = new MapperContext(entityManager);
@@ -44,6 +90,7 @@ public class JpaTripRepository implements TripRepository {
         JpaTripEntity entity = entityManager.find(JpaTripEntity.class, id);
         if (entity != null) {
             entityManager.remove(entity);
+            tripChangeTracker.invalidateAll();
         }
     }
 
@@ -86,6 +133,7 @@ public class JpaTripRepository implements TripRepository {
         entityManager.createQuery("delete from JpaTripEntity t where t.rider.userId = :userId")
                 .setParameter("userId", userId)
                 .executeUpdate();
+        tripChangeTracker.invalidateAll();
     }
 
     @Override
@@ -93,6 +141,7 @@ public class JpaTripRepository implements TripRepository {
         entityManager.createQuery("delete from JpaTripEntity t where t.bike.bikeId = :bikeId")
                 .setParameter("bikeId", bikeId)
                 .executeUpdate();
+        tripChangeTracker.invalidateAll();
     }
     @Override
     public List<Trip> findAll(){
@@ -124,85 +173,265 @@ public class JpaTripRepository implements TripRepository {
                 .toList();
     }
 
+    /*
+     * History reads route between trips and trip_archive. Archived trips all ended by the newest
+     * archived end time, so a window starting after it needs only the hot table; otherwise both
+     * tables are read in history order and merged.
+     */
+
     @Override
-    public List<Trip> findAllWithFilter(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType) {
-        return fetchTrips(null, startDate, endDate, bikeType, null, null);
+    public List<HistoryRow> findHistoryPage(UUID userId,
+                                            LocalDateTime startDate,
+                                            LocalDateTime endDate,
+                                            Bike.BikeType bikeType,
+                                            String tripKeyPrefix,
+                                            int page,
+                                            int pageSize) {
+        int safePageSize = Math.max(1, pageSize);
+        int first = Math.max(0, page) * safePageSize;
+        if (!archiveMayMatch(startDate)) {
+            return queryHistory(HOT_HISTORY_FROM, userId, startDate, endDate, bikeType, tripKeyPrefix, null,
+                    first, safePageSize);
+        }
+        // Neither table knows how many of the first rows the other holds, so each supplies enough
+        // to fill every page up to this one. Deep pages cost more here; cursor paging does not.
+        int needed = first + safePageSize;
+        List<HistoryRow> merged = merge(
+                queryHistory(HOT_HISTORY_FROM, userId, startDate, endDate, bikeType, tripKeyPrefix, null, 0, needed),
+                queryHistory(ARCHIVED_HISTORY_FROM, userId, startDate, endDate, bikeType, tripKeyPrefix, null, 0, needed),
+                needed);
+        return first >= merged.size() ? List.of() : merged.subList(first, merged.size());
     }
 
     @Override
-    public List<Trip> findAllWithFilterPaged(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType, int page, int pageSize) {
-        return fetchTrips(null, startDate, endDate, bikeType, page, pageSize);
+    public List<HistoryRow> findHistoryPageAfter(UUID userId,
+                                                 LocalDateTime startDate,
+                                                 LocalDateTime endDate,
+                                                 Bike.BikeType bikeType,
+                                                 String tripKeyPrefix,
+                                                 SeekPosition after,
+                                                 int limit) {
+        int safeLimit = Math.max(1, limit);
+        List<HistoryRow> hot = queryHistory(HOT_HISTORY_FROM, userId, startDate, endDate, bikeType, tripKeyPrefix,
+                after, 0, safeLimit);
+        if (!archiveMayMatch(startDate)) {
+            return hot;
+        }
+        List<HistoryRow> archived = queryHistory(ARCHIVED_HISTORY_FROM, userId, startDate, endDate, bikeType,
+                tripKeyPrefix, after, 0, safeLimit);
+        return merge(hot, archived, safeLimit);
     }
 
     @Override
-    public long countAllWithFilter(LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType) {
-        return countTrips(null, startDate, endDate, bikeType);
+    public long countHistory(UUID userId,
+                             LocalDateTime startDate,
+                             LocalDateTime endDate,
+                             Bike.BikeType bikeType,
+                             String tripKeyPrefix) {
+        long hot = countTrips("JpaTripEntity", userId, startDate, endDate, bikeType, tripKeyPrefix);
+        if (!archiveMayMatch(startDate)) {
+            return hot;
+        }
+        return hot + countTrips("JpaArchivedTripEntity", userId, startDate, endDate, bikeType, tripKeyPrefix);
     }
 
     @Override
-    public List<Trip> findAllByUserIdWithFilter(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType) {
-        return fetchTrips(userId, startDate, endDate, bikeType, null, null);
+    public List<DailyCount> countCompletedByDay() {
+        List<DailyCount> counts = new ArrayList<>(countByDay("JpaTripEntity"));
+        counts.addAll(countByDay("JpaArchivedTripEntity"));
+        return counts;
+    }
+
+    private List<DailyCount> countByDay(String entityName) {
+        return entityManager.createQuery(
+                        "SELECT CAST(t.endTime AS LocalDate), b.type, COUNT(t) FROM " + entityName + " t LEFT JOIN t.bike b"
+                                + " WHERE t.endTime IS NOT NULL AND (b.status IS NULL OR b.status <> :maintenanceStatus)"
+                                + " GROUP BY CAST(t.endTime AS LocalDate), b.type",
+                        Object[].class)
+                .setParameter("maintenanceStatus", Bike.BikeStatus.MAINTENANCE)
+                .getResultList().stream()
+                .map(row -> new DailyCount((LocalDate) row[0], (Bike.BikeType) row[1], ((Number) row[2]).longValue()))
+                .toList();
     }
 
     @Override
-    public List<Trip> findAllByUserIdWithFilterPaged(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType, int page, int pageSize) {
-        return fetchTrips(userId, startDate, endDate, bikeType, page, pageSize);
+    public void streamHistory(UUID userId,
+                              LocalDateTime startDate,
+                              LocalDateTime endDate,
+                              Bike.BikeType bikeType,
+                              int fetchSize,
+                              Consumer<HistoryRow> sink) {
+        boolean archive = archiveMayMatch(startDate);
+        // Tuple rows put nothing in the persistence context, so memory stays flat however many rows
+        // pass through. MySQL honours the fetch size only with useCursorFetch=true on the URL.
+        try (ScrollableResults<?> hot = scrollHistory(HOT_HISTORY_FROM, userId, startDate, endDate, bikeType, fetchSize);
+             ScrollableResults<?> archived = archive
+                     ? scrollHistory(ARCHIVED_HISTORY_FROM, userId, startDate, endDate, bikeType, fetchSize)
+                     : null) {
+            HistoryRow nextHot = advance(hot);
+            HistoryRow nextArchived = advance(archived);
+            while (nextHot != null || nextArchived != null) {
+                if (nextArchived == null || (nextHot != null && HISTORY_ROW_ORDER.compare(nextHot, nextArchived) <= 0)) {
+                    sink.accept(nextHot);
+                    nextHot = advance(hot);
+                } else {
+                    sink.accept(nextArchived);
+                    nextArchived = advance(archived);
+                }
+            }
+        }
     }
 
     @Override
-    public long countAllByUserIdWithFilter(UUID userId, LocalDateTime startDate, LocalDateTime endDate, Bike.BikeType bikeType) {
-        return countTrips(userId, startDate, endDate, bikeType);
+    public void scanPricingInputs(int fetchSize, PricingInputSink sink) {
+        scanPricingInputs("JpaTripEntity", fetchSize, sink);
+        scanPricingInputs("JpaArchivedTripEntity", fetchSize, sink);
     }
 
-    // clearAssociationsForTrip removed to avoid nulling rider/bike which breaks toDomain
+    private void scanPricingInputs(String entityName, int fetchSize, PricingInputSink sink) {
+        // Left joins: archived trips keep their revenue even after the rider or bike row is removed.
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT t.durationMinutes, b.type, r.role, t.discountRate FROM " + entityName + " t"
+                        + " LEFT JOIN t.rider r LEFT JOIN t.bike b WHERE t.endTime IS NOT NULL",
+                Object[].class);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, Math.max(1, fetchSize));
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (ScrollableResults<?> rows = query.unwrap(Query.class).scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = (Object[]) rows.get();
+                Double discountRate = (Double) row[3];
+                sink.accept(((Number) row[0]).intValue(),
+                        (Bike.BikeType) row[1],
+                        (String) row[2],
+                        discountRate != null ? discountRate : 0.0);
+            }
+        }
+    }
 
-    // archiveTrip removed; not part of repository interface
+    private boolean archiveMayMatch(LocalDateTime startDate) {
+        LocalDateTime newestArchived = entityManager.createQuery(
+                        "SELECT MAX(a.endTime) FROM JpaArchivedTripEntity a", LocalDateTime.class)
+                .getSingleResult();
+        return newestArchived != null && (startDate == null || !startDate.isAfter(newestArchived));
+    }
+
+    private List<HistoryRow> queryHistory(String from,
+                                          UUID userId,
+                                          LocalDateTime startDate,
+                                          LocalDateTime endDate,
+                                          Bike.BikeType bikeType,
+                                          String tripKeyPrefix,
+                                          SeekPosition after,
+                                          int first,
+                                          int max) {
+        StringBuilder queryStr = new StringBuilder(HISTORY_COLUMNS).append(from).append(" WHERE ")
+                .append(String.join(" AND ", filterPredicates(userId, startDate, endDate, bikeType, tripKeyPrefix)));
+        if (after != null) {
+            // Expanded row-value comparison so the database can seek on (end_time, start_time, trip_id).
+            queryStr.append(" AND (t.endTime < :afterEnd")
+                    .append(" OR (t.endTime = :afterEnd AND t.startTime < :afterStart)")
+                    .append(" OR (t.endTime = :afterEnd AND t.startTime = :afterStart AND t.tripId < :afterTripId))");
+        }
+        queryStr.append(HISTORY_ORDER);
 
-    private List<Trip> fetchTrips(UUID userId,
-                                  LocalDateTime startDate,
-                                  LocalDateTime endDate,
-                                  Bike.BikeType bikeType,
-                                  Integer page,
-                                  Integer pageSize) {
-        String queryStr = buildTripQuery(userId, startDate, endDate, bikeType, false);
-        TypedQuery<JpaTripEntity> query = entityManager.createQuery(queryStr, JpaTripEntity.class);
-        applyFilterParameters(query, userId, startDate, endDate, bikeType);
-        if (page != null && pageSize != null) {
-            int safePage = Math.max(0, page);
-            int safePageSize = Math.max(1, pageSize);
-            query.setFirstResult(safePage * safePageSize);
-            query.setMaxResults(safePageSize);
-        }
-        MapperContext context = new MapperContext();
+        TypedQuery<Object[]> query = entityManager.createQuery(queryStr.toString(), Object[].class);
+        applyFilterParameters(query, userId, startDate, endDate, bikeType, tripKeyPrefix);
+        if (after != null) {
+            query.setParameter("afterEnd", after.endTime());
+            query.setParameter("afterStart", after.startTime());
+            query.setParameter("afterTripId", after.tripId());
+        }
+        query.setFirstResult(first);
+        query.setMaxResults(max);
         return query.getResultList().stream()
-                .map(entity -> entity.toDomain(context))
+                .map(JpaTripRepository::toHistoryRow)
                 .toList();
     }
 
-    private long countTrips(UUID userId,
+    private ScrollableResults<?> scrollHistory(String from,
+                                               UUID userId,
+                                               LocalDateTime startDate,
+                                               LocalDateTime endDate,
+                                               Bike.BikeType bikeType,
+                                               int fetchSize) {
+        String queryStr = HISTORY_COLUMNS + from + " WHERE "
+                + String.join(" AND ", filterPredicates(userId, startDate, endDate, bikeType, null))
+                + HISTORY_ORDER;
+        TypedQuery<Object[]> query = entityManager.createQuery(queryStr, Object[].class);
+        applyFilterParameters(query, userId, startDate, endDate, bikeType, null);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, Math.max(1, fetchSize));
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.unwrap(Query.class).scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private static HistoryRow advance(ScrollableResults<?> results) {
+        return results != null && results.next() ? toHistoryRow((Object[]) results.get()) : null;
+    }
+
+    private static List<HistoryRow> merge(List<HistoryRow> hot, List<HistoryRow> archived, int limit) {
+        List<HistoryRow> merged = new ArrayList<>(Math.min(limit, hot.size() + archived.size()));
+        int h = 0;
+        int a = 0;
+        while (merged.size() < limit && (h < hot.size() || a < archived.size())) {
+            if (a >= archived.size() || (h < hot.size() && HISTORY_ROW_ORDER.compare(hot.get(h), archived.get(a)) <= 0)) {
+                merged.add(hot.get(h++));
+            } else {
+                merged.add(archived.get(a++));
+            }
+        }
+        return merged;
+    }
+
+    private static HistoryRow toHistoryRow(Object[] row) {
+        String fullName = (String) row[2];
+        Double totalCost = (Double) row[12];
+        return new HistoryRow(
+                (UUID) row[0],
+                (UUID) row[1],
+                fullName != null ? fullName : (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                (LocalDateTime) row[6],
+                (LocalDateTime) row[7],
+                ((Number) row[8]).intValue(),
+                (Bike.BikeType) row[9],
+                (UUID) row[10],
+                totalCost != null ? totalCost : 0.0,
+                (UUID) row[11],
+                (LedgerEntry.LedgerStatus) row[13]
+        );
+    }
+
+    // clearAssociationsForTrip removed to avoid nulling rider/bike which breaks toDomain
+
+    // archiveTrip removed; not part of repository interface
+
+    private long countTrips(String entityName,
+                            UUID userId,
                             LocalDateTime startDate,
                             LocalDateTime endDate,
-                            Bike.BikeType bikeType) {
-        String queryStr = buildTripQuery(userId, startDate, endDate, bikeType, true);
+                            Bike.BikeType bikeType,
+                            String tripKeyPrefix) {
+        String queryStr = "SELECT COUNT(t) FROM " + entityName + " t" + FILTER_JOINS + " WHERE "
+                + String.join(" AND ", filterPredicates(userId, startDate, endDate, bikeType, tripKeyPrefix));
         TypedQuery<Long> query = entityManager.createQuery(queryStr, Long.class);
-        applyFilterParameters(query, userId, startDate, endDate, bikeType);
+        applyFilterParameters(query, userId, startDate, endDate, bikeType, tripKeyPrefix);
         return query.getSingleResult();
     }
 
-    private String buildTripQuery(UUID userId,
-                                  LocalDateTime startDate,
-                                  LocalDateTime endDate,
-                                  Bike.BikeType bikeType,
-                                  boolean countQuery) {
-        StringBuilder queryStr = new StringBuilder(countQuery ? "SELECT COUNT(t) FROM JpaTripEntity t" : "SELECT t FROM JpaTripEntity t");
+    private List<String> filterPredicates(UUID userId,
+                                          LocalDateTime startDate,
+                                          LocalDateTime endDate,
+                                          Bike.BikeType bikeType,
+                                          String tripKeyPrefix) {
         List<String> predicates = new ArrayList<>();
         predicates.add("t.endTime IS NOT NULL");
-        predicates.add("t.bike.status <> :maintenanceStatus");
+        predicates.add("(b.status IS NULL OR b.status <> :maintenanceStatus)");
         if (userId != null) {
-            predicates.add("t.rider.userId = :userId");
+            predicates.add("r.userId = :userId");
         }
         if (bikeType != null) {
-            predicates.add("t.bike.type = :bikeType");
+            predicates.add("b.type = :bikeType");
         }
         if (startDate != null) {
             predicates.add("t.startTime >= :startDate");
@@ -210,20 +439,19 @@ public class JpaTripRepository implements TripRepository {
         if (endDate != null) {
             predicates.add("t.endTime <= :endDate");
         }
-        if (!predicates.isEmpty()) {
-            queryStr.append(" WHERE ").append(String.join(" AND ", predicates));
+        if (tripKeyPrefix != null) {
+            // Callers pass only hex digits and dashes, so the pattern needs no escaping.
+            predicates.add("t.tripKey LIKE :tripKeyPattern");
         }
-        if (!countQuery) {
-            queryStr.append(" ORDER BY CASE WHEN t.endTime IS NULL THEN 1 ELSE 0 END, t.endTime DESC, t.startTime DESC");
-        }
-        return queryStr.toString();
+        return predicates;
     }
 
     private void applyFilterParameters(TypedQuery<?> query,
                                        UUID userId,
                                        LocalDateTime startDate,
                                        LocalDateTime endDate,
-                                       Bike.BikeType bikeType) {
+                                       Bike.BikeType bikeType,
+                                       String tripKeyPrefix) {
         query.setParameter("maintenanceStatus", Bike.BikeStatus.MAINTENANCE);
         if (userId != null) {
             query.setParameter("userId", userId);
@@ -237,5 +465,8 @@ public class JpaTripRepository implements TripRepository {
         if (endDate != null) {
             query.setParameter("endDate", endDate);
         }
+        if (tripKeyPrefix != null) {
+            query.setParameter("tripKeyPattern", tripKeyPrefix + "%");
+        }
     }
 }
@@ -0,0 +1,95 @@
+package com.sharecycle.infrastructure.persistence.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Events moved out of {@code domain_event} by retention. Same columns, no foreign keys, and
+ * only ever written by bulk {@code INSERT ... SELECT}.
+ */
+@Entity
+@Table(name = "domain_event_archive")
+public class JpaArchivedDomainEventEntity {
+
+    @Id
+    @Column(name = "event_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "sequence_no")
+    private Long sequenceNo;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    @JdbcTypeCode(SqlTypes.TIMESTAMP_UTC)
+    private Instant occurredAt;
+
+    @Column(name = "message", length = 500)
+    private String message;
+
+    @Column(name = "payload", columnDefinition = "VARBINARY(4096)")
+    private byte[] payload;
+
+    @Column(name = "principal_user_id", columnDefinition = "BINARY(16)")
+    private UUID principalUserId;
+
+    @Column(name = "station_id", columnDefinition = "BINARY(16)")
+    private UUID stationId;
+
+    @Column(name = "bike_id", columnDefinition = "BINARY(16)")
+    private UUID bikeId;
+
+    @Column(name = "trip_id", columnDefinition = "BINARY(16)")
+    private UUID tripId;
+
+    public JpaArchivedDomainEventEntity() {
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public Long getSequenceNo() {
+        return sequenceNo;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public UUID getPrincipalUserId() {
+        return principalUserId;
+    }
+
+    public UUID getStationId() {
+        return stationId;
+    }
+
+    public UUID getBikeId() {
+        return bikeId;
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+}
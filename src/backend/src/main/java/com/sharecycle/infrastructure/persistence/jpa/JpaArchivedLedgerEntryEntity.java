@@ -0,0 +1,86 @@
+package com.sharecycle.infrastructure.persistence.jpa;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.sharecycle.domain.model.LedgerEntry;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Ledger entries moved to the archive together with their trip. Same columns as
+ * {@code ledger_entry}, with the trip held as a plain id because it lives in
+ * {@code trip_archive}.
+ */
+@Entity
+@Table(name = "ledger_entry_archive")
+public class JpaArchivedLedgerEntryEntity {
+
+    @Id
+    @Column(name = "ledger_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID ledgerId;
+
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID userId;
+
+    @Column(name = "trip_id", columnDefinition = "BINARY(16)", nullable = false, unique = true)
+    private UUID tripId;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "status", nullable = false)
+    private LedgerEntry.LedgerStatus status;
+
+    @Column(name = "pricing_plan", length = 50)
+    private String pricingPlan;
+
+    @Column(name = "description", length = 255)
+    private String description;
+
+    @Column(name = "bill_id", columnDefinition = "BINARY(16)")
+    private UUID billId;
+
+    @Column(name = "bill_computed_at")
+    private LocalDateTime billComputedAt;
+
+    @Column(name = "base_cost")
+    private double baseCost;
+
+    @Column(name = "time_cost")
+    private double timeCost;
+
+    @Column(name = "ebike_surcharge")
+    private double eBikeSurcharge;
+
+    @Column(name = "total_cost")
+    private double totalCost;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "flex_credit_applied")
+    private double flexCreditApplied;
+
+    public JpaArchivedLedgerEntryEntity() {
+    }
+
+    public UUID getLedgerId() {
+        return ledgerId;
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+
+    public LedgerEntry.LedgerStatus getStatus() {
+        return status;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+}
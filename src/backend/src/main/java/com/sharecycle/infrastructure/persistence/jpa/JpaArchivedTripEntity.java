@@ -0,0 +1,77 @@
+package com.sharecycle.infrastructure.persistence.jpa;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Completed trips moved out of {@code trips} by archiving. Same columns and association names
+ * as {@link JpaTripEntity}, so history queries read either table with the same predicates;
+ * no foreign keys, and only ever written by bulk {@code INSERT ... SELECT}.
+ */
+@Entity
+@Table(name = "trip_archive")
+public class JpaArchivedTripEntity {
+
+    @Id
+    @Column(name = "trip_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID tripId;
+
+    @Column(name = "trip_key", length = 36)
+    private String tripKey;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "duration_minutes")
+    private int durationMinutes;
+
+    @Column(name = "discount_rate")
+    private Double discountRate;
+
+    @Column(name = "archive_month", nullable = false)
+    private int archiveMonth;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private JpaUserEntity rider;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bike_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private JpaBikeEntity bike;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "start_station_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private JpaStationEntity startStation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "end_station_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private JpaStationEntity endStation;
+
+    public JpaArchivedTripEntity() {
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public int getArchiveMonth() {
+        return archiveMonth;
+    }
+}
@@ -4,6 +4,7 @@ import com.sharecycle.domain.model.Bike;
 import com.sharecycle.domain.model.Station;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -16,6 +17,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(StationChangeListener.class)
 @Table(name = "bike")
 public class JpaBikeEntity {
 
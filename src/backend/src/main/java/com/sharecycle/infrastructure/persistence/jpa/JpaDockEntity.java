@@ -5,6 +5,7 @@ import com.sharecycle.domain.model.Station;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -17,6 +18,7 @@ import jakarta.persistence.Table;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(StationChangeListener.class)
 @Table(name = "dock")
 public class JpaDockEntity {
 
@@ -1,20 +1,16 @@
 package com.sharecycle.infrastructure.persistence.jpa;
 
-import com.sharecycle.domain.event.BikeMovedEvent;
-import com.sharecycle.domain.event.ReservationCreatedEvent;
-import com.sharecycle.domain.event.StationCapacityChangedEvent;
-import com.sharecycle.domain.event.StationStatusChangedEvent;
-import com.sharecycle.domain.event.TripBilledEvent;
-import com.sharecycle.domain.event.TripEndedEvent;
-import com.sharecycle.domain.event.TripStartedEvent;
-import com.sharecycle.domain.model.Bike;
-import com.sharecycle.domain.model.Rider;
-import com.sharecycle.domain.model.Station;
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.infrastructure.EventTimestamps;
+import com.sharecycle.infrastructure.codec.EventCodecRegistry;
+import com.sharecycle.infrastructure.codec.EventKeys;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -27,17 +23,21 @@ public class JpaDomainEventEntity {
     @Column(name = "event_id", columnDefinition = "BINARY(16)", nullable = false)
     private UUID eventId;
 
+    @Column(name = "sequence_no")
+    private Long sequenceNo;
+
     @Column(name = "event_type", nullable = false, length = 100)
     private String eventType;
 
     @Column(name = "occurred_at", nullable = false)
+    @JdbcTypeCode(SqlTypes.TIMESTAMP_UTC)
     private Instant occurredAt;
 
     @Column(name = "message", length = 500)
     private String message;
 
-    @Column(name = "payload")
-    private String payload;
+    @Column(name = "payload", columnDefinition = "VARBINARY(4096)")
+    private byte[] payload;
 
     @Column(name = "principal_user_id", columnDefinition = "BINARY(16)")
     private UUID principalUserId;
@@ -61,7 +61,7 @@ public class JpaDomainEventEntity {
                                  String eventType,
                                  Instant occurredAt,
                                  String message,
-                                 String payload,
+                                 byte[] payload,
                                  UUID principalUserId,
                                  UUID stationId,
                                  UUID bikeId,
@@ -77,59 +77,49 @@ public class JpaDomainEventEntity {
         this.tripId = tripId;
     }
 
+    /**
+     * Entity for an event numbered by the publisher, with its occurrence time taken from
+     * the event itself.
+     */
+    public static JpaDomainEventEntity fromEvent(DomainEvent event, long sequence) {
+        JpaDomainEventEntity entity = fromEvent(event);
+        entity.sequenceNo = sequence;
+        if (event.occurredAt() != null) {
+            entity.occurredAt = EventTimestamps.toInstant(event.occurredAt());
+        }
+        return entity;
+    }
+
+    /**
+     * Events with a registered schema are stored as a binary payload plus their indexed keys;
+     * the console message is only kept for types the codec does not know.
+     */
     public static JpaDomainEventEntity fromEvent(Object event) {
         if (event == null) {
             throw new IllegalArgumentException("event must not be null");
         }
-        UUID eventId = UUID.randomUUID();
-        String eventType = event.getClass().getSimpleName();
-        Instant occurredAt = Instant.now();
-        String message = truncate(event.toString(), MESSAGE_LIMIT);
-
-        UUID principalUserId = null;
-        UUID stationId = null;
-        UUID bikeId = null;
-        UUID tripId = null;
-
-        if (event instanceof TripStartedEvent started) {
-            tripId = started.tripID();
-            Rider rider = started.rider();
-            if (rider != null) {
-                principalUserId = rider.getUserId();
-            }
-            Bike bike = started.bike();
-            if (bike != null) {
-                bikeId = bike.getId();
-            }
-            Station station = started.startStation();
-            if (station != null) {
-                stationId = station.getId();
-            }
-        } else if (event instanceof TripEndedEvent ended) {
-            tripId = ended.tripId();
-        } else if (event instanceof TripBilledEvent billed) {
-            tripId = billed.tripId();
-        } else if (event instanceof ReservationCreatedEvent created) {
-            principalUserId = created.getRiderId();
-        } else if (event instanceof StationStatusChangedEvent statusChanged) {
-            stationId = statusChanged.stationId();
-        } else if (event instanceof StationCapacityChangedEvent capacityChanged) {
-            stationId = capacityChanged.stationId();
-        } else if (event instanceof BikeMovedEvent bikeMoved) {
-            bikeId = bikeMoved.bikeId();
-            stationId = bikeMoved.destinationStationId();
+        EventCodecRegistry codecs = EventCodecRegistry.standard();
+        byte[] payload = null;
+        EventKeys keys = EventKeys.NONE;
+        String message;
+        if (event instanceof DomainEvent domainEvent && codecs.supports(domainEvent)) {
+            payload = codecs.encode(domainEvent);
+            keys = codecs.keysOf(domainEvent);
+            message = null;
+        } else {
+            message = truncate(event.toString(), MESSAGE_LIMIT);
         }
 
         return new JpaDomainEventEntity(
-                eventId,
-                eventType,
-                occurredAt,
+                UUID.randomUUID(),
+                event.getClass().getSimpleName(),
+                Instant.now(),
                 message,
-                null,
-                principalUserId,
-                stationId,
-                bikeId,
-                tripId
+                payload,
+                keys.principalUserId(),
+                keys.stationId(),
+                keys.bikeId(),
+                keys.tripId()
         );
     }
 
@@ -147,6 +137,10 @@ public class JpaDomainEventEntity {
         return eventId;
     }
 
+    public Long getSequenceNo() {
+        return sequenceNo;
+    }
+
     public String getEventType() {
         return eventType;
     }
@@ -159,7 +153,7 @@ public class JpaDomainEventEntity {
         return message;
     }
 
-    public String getPayload() {
+    public byte[] getPayload() {
         return payload;
     }
 
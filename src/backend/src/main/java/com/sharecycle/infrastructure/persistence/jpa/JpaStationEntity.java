@@ -5,10 +5,14 @@ import com.sharecycle.domain.model.Station;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
@@ -18,9 +22,21 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(StationChangeListener.class)
 @Table(name = "station")
+@NamedEntityGraph(
+        name = JpaStationEntity.WITH_DOCKS_AND_BIKES,
+        attributeNodes = @NamedAttributeNode(value = "docks", subgraph = "dock"),
+        subgraphs = @NamedSubgraph(name = "dock", attributeNodes = @NamedAttributeNode("occupiedBike"))
+)
 public class JpaStationEntity {
 
+    /**
+     * Entity graph loading a station with its docks and docked bikes in one statement, which
+     * is everything {@link #toDomain(MapperContext)} walks.
+     */
+    public static final String WITH_DOCKS_AND_BIKES = "JpaStationEntity.withDocksAndBikes";
+
     @Id
     @Column(name = "station_id", columnDefinition = "BINARY(16)", nullable = false)
     private UUID stationId;
@@ -23,6 +23,13 @@ public class JpaTripEntity {
     @Column(name = "trip_id", columnDefinition = "BINARY(16)", nullable = false)
     private UUID tripId;
 
+    /**
+     * Lower-case text form of {@link #tripId}, kept so history search can match an id prefix
+     * against an index instead of scanning the table.
+     */
+    @Column(name = "trip_key", length = 36)
+    private String tripKey;
+
     @Column(name = "start_time")
     private LocalDateTime startTime;
 
@@ -32,6 +39,12 @@ public class JpaTripEntity {
     @Column(name = "duration_minutes")
     private int durationMinutes;
 
+    /**
+     * Loyalty discount the trip was billed with; null on trips ended before it was recorded.
+     */
+    @Column(name = "discount_rate")
+    private Double discountRate;
+
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "user_id", nullable = true)
     private JpaUserEntity rider;
@@ -53,9 +66,11 @@ public class JpaTripEntity {
 
     private JpaTripEntity(Trip trip, MapperContext context) {
         this.tripId = trip.getTripID();
+        this.tripKey = keyOf(trip.getTripID());
         this.startTime = trip.getStartTime();
         this.endTime = trip.getEndTime();
         this.durationMinutes = trip.getDurationMinutes();
+        this.discountRate = trip.getAppliedDiscountRate();
         
         // Fetch the existing user entity from the database instead of creating a new one
         // This avoids Hibernate session conflicts when operators in RIDER mode start trips
@@ -108,6 +123,7 @@ public class JpaTripEntity {
                 startStation.toDomain(context),
                 endStation != null ? endStation.toDomain(context) : null
         );
+        trip.setAppliedDiscountRate(discountRate != null ? discountRate : 0.0);
         context.trips.put(tripId, trip);
         return trip;
     }
@@ -118,6 +134,15 @@ public class JpaTripEntity {
 
     public void setTripId(UUID tripId) {
         this.tripId = tripId;
+        this.tripKey = keyOf(tripId);
+    }
+
+    public String getTripKey() {
+        return tripKey;
+    }
+
+    public static String keyOf(UUID tripId) {
+        return tripId != null ? tripId.toString().toLowerCase() : null;
     }
 
     public void setBike(JpaBikeEntity bike) {
@@ -0,0 +1,40 @@
+package com.sharecycle.infrastructure.persistence.jpa;
+
+import com.sharecycle.infrastructure.StationChangeTracker;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity callback that reports writes to stations, docks and bikes to the
+ * {@link StationChangeTracker}. Hibernate obtains it through Spring's bean container, so the
+ * tracker is injected; it is looked up lazily because listeners are created while the
+ * entity manager factory itself is being built.
+ */
+public class StationChangeListener {
+
+    private final ObjectProvider<StationChangeTracker> tracker;
+
+    public StationChangeListener(ObjectProvider<StationChangeTracker> tracker) {
+        this.tracker = tracker;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onWrite(Object entity) {
+        StationChangeTracker target = tracker.getIfAvailable();
+        if (target == null) {
+            return;
+        }
+        if (entity instanceof JpaStationEntity station) {
+            target.stationChanged(station.getStationId());
+        } else if (entity instanceof JpaDockEntity dock && dock.getStation() != null) {
+            // Reading the id of a lazy reference does not initialize it.
+            target.stationChanged(dock.getStation().getStationId());
+        } else if (entity instanceof JpaBikeEntity bike && bike.getCurrentStation() != null) {
+            target.stationChanged(bike.getCurrentStation().getStationId());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sharecycle.model.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.sharecycle.domain.model.Station;
 
+import java.util.Objects;
 import java.util.UUID;
 
 public class StationSummaryDto {
@@ -94,4 +95,32 @@ public class StationSummaryDto {
     public String getFullnessCategory() {
         return fullnessCategory;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StationSummaryDto that)) {
+            return false;
+        }
+        return bikesAvailable == that.bikesAvailable
+                && bikesDocked == that.bikesDocked
+                && eBikesDocked == that.eBikesDocked
+                && eBikesAvailable == that.eBikesAvailable
+                && capacity == that.capacity
+                && freeDocks == that.freeDocks
+                && Double.compare(latitude, that.latitude) == 0
+                && Double.compare(longitude, that.longitude) == 0
+                && Objects.equals(stationId, that.stationId)
+                && Objects.equals(name, that.name)
+                && status == that.status
+                && Objects.equals(fullnessCategory, that.fullnessCategory);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stationId, name, status, bikesAvailable, bikesDocked, eBikesDocked, eBikesAvailable,
+                capacity, freeDocks, latitude, longitude, fullnessCategory);
+    }
 }
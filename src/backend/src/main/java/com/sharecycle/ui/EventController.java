@@ -1,20 +1,27 @@
 package com.sharecycle.ui;
 
+import com.sharecycle.application.StationSummaryReadModel;
 import com.sharecycle.domain.event.*;
 import com.sharecycle.domain.model.User;
+import com.sharecycle.infrastructure.DomainEventLog;
 import com.sharecycle.infrastructure.SimpleDomainEventPublisher;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.sharecycle.infrastructure.SseFanoutHub;
+import com.sharecycle.infrastructure.StreamFilter;
+import com.sharecycle.infrastructure.dto.EventHistoryPage;
+import com.sharecycle.infrastructure.dto.EventHistoryQuery;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -23,13 +30,22 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api")
 public class EventController {
-    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
     private static final long SSE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final String BBOX_FORMAT = "bbox must be minLat,minLon,maxLat,maxLon.";
     private final DomainEventPublisher publisher;
     private final SimpleDomainEventPublisher simplePublisher;
-
-    public EventController(DomainEventPublisher publisher) {
+    private final SseFanoutHub hub;
+    private final DomainEventLog eventLog;
+    private final StationSummaryReadModel stationSummaryReadModel;
+
+    public EventController(DomainEventPublisher publisher,
+                           SseFanoutHub hub,
+                           DomainEventLog eventLog,
+                           StationSummaryReadModel stationSummaryReadModel) {
         this.publisher = publisher;
+        this.hub = hub;
+        this.eventLog = eventLog;
+        this.stationSummaryReadModel = stationSummaryReadModel;
         if (publisher instanceof SimpleDomainEventPublisher sp) {
             this.simplePublisher = sp;
         } else {
@@ -41,139 +57,127 @@ public class EventController {
     public List<String> recentEvents() {
         if (simplePublisher == null) return List.of();
 
-        // 1. Identify the current user (Copy-paste from streamEvents)
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = (auth != null && auth.getPrincipal() instanceof User) ? (User) auth.getPrincipal() : null;
+        // 1. Identify the current user
+        User currentUser = currentUser();
         UUID currentUserId = (currentUser != null) ? currentUser.getUserId() : null;
-        boolean isOperator = (currentUser != null) && "OPERATOR".equals(currentUser.getRole());
+        boolean isOperator = isOperator(currentUser);
 
         // 2. Filter the history list
         return simplePublisher.recentEvents().stream()
-                .filter(e -> isRelevantToUser(e, currentUserId, isOperator)) // <--- This is the critical fix
-                .map(EventController::format)
+                .filter(e -> DomainEventVisibility.isVisibleTo(e, currentUserId, isOperator))
+                .map(DomainEventMessages::format)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Live event stream. SSE ids are the publisher's sequence numbers, so a reconnecting
+     * client that sends {@code Last-Event-ID} only receives the events it missed. Map clients
+     * pass {@code coalesce=true} to get one merged {@code StationDelta} per busy station and
+     * window instead of every raw station event.
+     * <p>
+     * {@code types}, {@code stationIds} and {@code bbox} ({@code minLat,minLon,maxLat,maxLon})
+     * narrow the stream on the server. Station ids and the stations inside the box are
+     * combined; the box is resolved once, when the stream opens.
+     */
     @GetMapping(path = "/events/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamEvents() {
-        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
-
-        // 1. Identify the current user
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = (auth != null && auth.getPrincipal() instanceof User) ? (User) auth.getPrincipal() : null;
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                   @RequestParam(defaultValue = "false") boolean coalesce,
+                                   @RequestParam(required = false) List<String> types,
+                                   @RequestParam(required = false) List<UUID> stationIds,
+                                   @RequestParam(required = false) String bbox) {
+        StreamFilter filter = StreamFilter.of(types, resolveStations(stationIds, bbox));
+
+        // Identify the current user; the hub routes private events by user id
+        User currentUser = currentUser();
         UUID currentUserId = (currentUser != null) ? currentUser.getUserId() : null;
-        boolean isOperator = (currentUser != null) && "OPERATOR".equals(currentUser.getRole());
+        boolean isOperator = isOperator(currentUser);
 
-        DomainEventSubscriber subscriber = event -> {
-            // 2. Filter: Only send relevant events
-            if (!isRelevantToUser(event, currentUserId, isOperator)) {
-                return;
-            }
-
-            try {
-                emitter.send(SseEmitter.event()
-                        .id(String.valueOf(event.occurredAt().toEpochSecond(java.time.ZoneOffset.UTC)))
-                        .name(event.getClass().getSimpleName())
-                        .data(format(event)));
-            } catch (IOException ex) {
-                logger.debug("Failed to send SSE event", ex);
-            }
-        };
-
-        publisher.subscribe(subscriber);
-
-        emitter.onCompletion(() -> publisher.unsubscribe(subscriber));
-        emitter.onTimeout(() -> publisher.unsubscribe(subscriber));
-        emitter.onError((ex) -> publisher.unsubscribe(subscriber));
-
-        // 3. Send Initial Snapshot (Filtered)
-        if (simplePublisher != null) {
-            try {
-                for (DomainEvent e : simplePublisher.recentEvents()) {
-                    if (isRelevantToUser(e, currentUserId, isOperator)) {
-                        emitter.send(SseEmitter.event()
-                                .id(String.valueOf(e.occurredAt().toEpochSecond(java.time.ZoneOffset.UTC)))
-                                .name(e.getClass().getSimpleName())
-                                .data(format(e)));
-                    }
-                }
-            } catch (IOException ignore) { }
-        }
+        return hub.open(currentUserId, isOperator, parseSequence(lastEventId), SSE_TIMEOUT_MS, coalesce, filter);
+    }
 
-        return emitter;
+    @GetMapping("/events/subscribers")
+    public List<SimpleDomainEventPublisher.SubscriberStats> subscriberStats() {
+        requireOperator();
+        if (simplePublisher == null) return List.of();
+        return simplePublisher.subscriberStats();
     }
 
     /**
-     * Filter logic to prevent users from seeing others' private notifications
+     * Persisted event history, newest first. Page with {@code before} set to the previous
+     * page's {@code nextBefore}; {@code archive=true} continues past the hot window.
      */
-    private boolean isRelevantToUser(DomainEvent e, UUID userId, boolean isOperator) {
-        // Operators see everything
-        if (isOperator) return true;
-
-        // Privacy Filter for Tier Updates
-        if (e instanceof TierUpdatedEvent tue) {
-            return userId != null && userId.equals(tue.riderId());
-        }
-
-        // Privacy Filter for Reservations
-        if (e instanceof ReservationCreatedEvent rce) {
-            return userId != null && userId.equals(rce.getRiderId());
-        }
+    @GetMapping("/events/history")
+    public EventHistoryPage eventHistory(@RequestParam(required = false) String type,
+                                         @RequestParam(required = false) UUID stationId,
+                                         @RequestParam(required = false) UUID bikeId,
+                                         @RequestParam(required = false) UUID tripId,
+                                         @RequestParam(required = false) Long before,
+                                         @RequestParam(defaultValue = "100") int limit,
+                                         @RequestParam(defaultValue = "false") boolean archive) {
+        requireOperator();
+        return eventLog.history(new EventHistoryQuery(type, stationId, bikeId, tripId, before, limit, archive));
+    }
 
-        // Privacy Filter for Flex Credit
-        if (e instanceof FlexCreditAddedEvent fca) {
-            return userId != null && userId.equals(fca.userId());
+    private void requireOperator() {
+        User user = currentUser();
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required.");
         }
-        if (e instanceof FlexCreditDeductedEvent fcd) {
-            return userId != null && userId.equals(fcd.userId());
+        if (!isOperator(user)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Operator role required.");
         }
-
-        // Default: Allow other events (TripStarted, StationStatus, etc.) to be visible
-        return true;
     }
 
-    private static String format(DomainEvent e) {
-        var ts = e.occurredAt().format(DateTimeFormatter.ISO_LOCAL_TIME);
-        return "%s - %s".formatted(ts, readable(e));
+    private static User currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return (auth != null && auth.getPrincipal() instanceof User user) ? user : null;
     }
 
-    private static String readable(DomainEvent e) {
-        if (e instanceof TripStartedEvent) return "Trip started.";
-        if (e instanceof TripEndedEvent) return "Trip ended.";
-        if (e instanceof TripBilledEvent) return "Trip billed.";
-        if (e instanceof PaymentStartedEvent) return "Payment processing started.";
-        if (e instanceof PaymentSucceedEvent) return "Payment completed successfully.";
-        if (e instanceof PaymentFailedEvent) return "Payment failed.";
-        if (e instanceof BillIssuedEvent event) return "Bill issued for trip %s totaling $%.2f".formatted(event.tripId().toString().substring(0, 8), event.totalCost());
-        if (e instanceof ReservationCreatedEvent) return "Bike reserved.";
-        if (e instanceof ReservationExpiredEvent) return "Reservation expired.";
-
-        if (e instanceof BikeStatusChangedEvent event) {
-            String bikeId = event.bikeId().toString().substring(0, 8);
-            return "Bike " + bikeId + " status changed to " + event.status();
+    /**
+     * The one role check for this controller: operators and admins see private events and the
+     * operator-only endpoints alike.
+     */
+    private static boolean isOperator(User user) {
+        if (user == null || user.getRole() == null) {
+            return false;
         }
-        if (e instanceof StationStatusChangedEvent event) {
-            String stationId = event.stationId().toString().substring(0, 8);
-            return "Station " + stationId + " status changed to " + event.status();
+        String role = user.getRole().toUpperCase();
+        return "OPERATOR".equals(role) || "ADMIN".equals(role);
+    }
+
+    private List<UUID> resolveStations(List<UUID> stationIds, String bbox) {
+        if (bbox == null || bbox.isBlank()) {
+            return stationIds;
         }
-        if (e instanceof StationCapacityChangedEvent event) {
-            String stationId = event.stationId().toString().substring(0, 8);
-            return "Station " + stationId + " capacity changed to " + event.capacity() + " (Free docks: " + event.freeDocks() + ")";
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BBOX_FORMAT);
         }
-        if (e instanceof BikeMovedEvent event) {
-            String bikeId = event.bikeId().toString().substring(0, 8);
-            return "Bike " + bikeId + " has been moved from " + event.sourceStationId() + " to " + event.destinationStationId();
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BBOX_FORMAT);
         }
-        if (e instanceof FlexCreditAddedEvent event) {
-            return "Flex credit added. Amount add: " + event.amount();
+        List<UUID> resolved = new ArrayList<>(stationSummaryReadModel.snapshot().index().within(
+                Math.min(box[0], box[2]), Math.min(box[1], box[3]), Math.max(box[0], box[2]), Math.max(box[1], box[3])));
+        if (stationIds != null) {
+            resolved.addAll(stationIds);
         }
-        if (e instanceof FlexCreditDeductedEvent event) {
-            return "Flex credit deducted. Amount deducted " +event.amount();
+        return resolved;
+    }
+
+    private static Long parseSequence(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
         }
-        if (e instanceof TierUpdatedEvent event) {
-            return String.format("Loyalty Tier updated to %s: %s", event.newTier(), event.reason());
+        try {
+            long sequence = Long.parseLong(value.trim());
+            return sequence >= 0 ? sequence : null;
+        } catch (NumberFormatException ex) {
+            return null;
         }
-
-        return e.getClass().getSimpleName();
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,18 @@
 package com.sharecycle.ui;
 
 import com.sharecycle.application.ListPricingPlansUseCase;
+import com.sharecycle.application.SimulatePricingUseCase;
+import com.sharecycle.domain.model.PricingPlan;
+import com.sharecycle.domain.model.User;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
@@ -12,10 +21,16 @@ import java.util.UUID;
 @RequestMapping("/api/pricing")
 public class PricingController {
 
+    private static final double DEFAULT_BUCKET_WIDTH = 1.0;
+    private static final int DEFAULT_BUCKETS = 50;
+
     private final ListPricingPlansUseCase listPricingPlansUseCase;
+    private final SimulatePricingUseCase simulatePricingUseCase;
 
-    public PricingController(ListPricingPlansUseCase listPricingPlansUseCase) {
+    public PricingController(ListPricingPlansUseCase listPricingPlansUseCase,
+                             SimulatePricingUseCase simulatePricingUseCase) {
         this.listPricingPlansUseCase = listPricingPlansUseCase;
+        this.simulatePricingUseCase = simulatePricingUseCase;
     }
 
     @GetMapping
@@ -25,6 +40,70 @@ public class PricingController {
                 .toList();
     }
 
+    /**
+     * Operator what-if: revenue and cost distribution of every completed trip under each
+     * candidate plan.
+     */
+    @PostMapping("/simulations")
+    public SimulatePricingUseCase.Result simulate(@RequestBody SimulationRequest request) {
+        requireOperator();
+        if (request == null || request.plans() == null || request.plans().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one plan is required.");
+        }
+        List<PricingPlan> plans = request.plans().stream()
+                .map(PricingController::toPricingPlan)
+                .toList();
+        return simulatePricingUseCase.execute(new SimulatePricingUseCase.Command(
+                plans,
+                request.bucketWidth() != null ? request.bucketWidth() : DEFAULT_BUCKET_WIDTH,
+                request.buckets() != null ? request.buckets() : DEFAULT_BUCKETS
+        ));
+    }
+
+    private static PricingPlan toPricingPlan(CandidatePlan candidate) {
+        PricingPlan.PlanType type;
+        try {
+            type = PricingPlan.PlanType.valueOf(candidate.planType().trim().toUpperCase());
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid planType value: " + candidate.planType());
+        }
+        return new PricingPlan(
+                null,
+                candidate.name() != null ? candidate.name() : type.name(),
+                null,
+                candidate.baseCost(),
+                candidate.perMinuteRate(),
+                candidate.eBikeSurchargePerMinute(),
+                type
+        );
+    }
+
+    private User requireOperator() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required.");
+        }
+        String role = user.getRole() != null ? user.getRole().toUpperCase() : "";
+        if (!"OPERATOR".equals(role) && !"ADMIN".equals(role)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Operator role required.");
+        }
+        return user;
+    }
+
+    public record SimulationRequest(
+            List<CandidatePlan> plans,
+            Double bucketWidth,
+            Integer buckets
+    ) { }
+
+    public record CandidatePlan(
+            String name,
+            String planType,
+            double baseCost,
+            double perMinuteRate,
+            Double eBikeSurchargePerMinute
+    ) { }
+
     public record PricingPlanResponse(
             UUID planId,
             String name,
@@ -1,10 +1,17 @@
 package com.sharecycle.ui;
 
-import com.sharecycle.application.ListStationSummariesUseCase;
+import com.sharecycle.application.FindNearestBikesUseCase;
+import com.sharecycle.application.ListStationsInViewportUseCase;
+import com.sharecycle.application.StationSummaryReadModel;
+import com.sharecycle.domain.model.Bike;
 import com.sharecycle.model.dto.StationSummaryDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -12,14 +19,93 @@ import java.util.List;
 @RequestMapping("/api/public/stations")
 public class PublicStationController {
 
-    private final ListStationSummariesUseCase listStationSummariesUseCase;
+    private static final String BBOX_FORMAT = "bbox must be minLat,minLon,maxLat,maxLon.";
 
-    public PublicStationController(ListStationSummariesUseCase listStationSummariesUseCase) {
-        this.listStationSummariesUseCase = listStationSummariesUseCase;
+    private final StationSummaryReadModel stationSummaryReadModel;
+    private final ListStationsInViewportUseCase listStationsInViewportUseCase;
+    private final FindNearestBikesUseCase findNearestBikesUseCase;
+
+    public PublicStationController(StationSummaryReadModel stationSummaryReadModel,
+                                   ListStationsInViewportUseCase listStationsInViewportUseCase,
+                                   FindNearestBikesUseCase findNearestBikesUseCase) {
+        this.stationSummaryReadModel = stationSummaryReadModel;
+        this.listStationsInViewportUseCase = listStationsInViewportUseCase;
+        this.findNearestBikesUseCase = findNearestBikesUseCase;
     }
 
+    /**
+     * Tagged with the snapshot version; a matching {@code If-None-Match} gets an empty 304.
+     */
     @GetMapping
-    public List<StationSummaryDto> listStations() {
-        return listStationSummariesUseCase.execute();
+    public ResponseEntity<List<StationSummaryDto>> listStations() {
+        StationSummaryReadModel.Snapshot snapshot = stationSummaryReadModel.snapshot();
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(snapshot.version()))
+                .body(snapshot.stations());
+    }
+
+    /**
+     * Stations inside {@code bbox} ({@code minLat,minLon,maxLat,maxLon}); with a {@code zoom}
+     * below the clustering threshold, nearby stations come back as aggregate clusters.
+     */
+    @GetMapping(params = "bbox")
+    public ResponseEntity<ListStationsInViewportUseCase.Result> listStationsInViewport(
+            @RequestParam String bbox,
+            @RequestParam(required = false) Integer zoom) {
+        double[] box = parseBox(bbox);
+        ListStationsInViewportUseCase.Result result = listStationsInViewportUseCase.execute(
+                new ListStationsInViewportUseCase.Command(
+                        Math.min(box[0], box[2]), Math.min(box[1], box[3]),
+                        Math.max(box[0], box[2]), Math.max(box[1], box[3]),
+                        zoom));
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(result.version()))
+                .body(result);
+    }
+
+    /**
+     * The {@code k} closest stations with an available bike of {@code type} (any type when
+     * omitted), nearest first.
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<FindNearestBikesUseCase.Result>> findNearestBikes(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Bike.BikeType type,
+            @RequestParam(defaultValue = "3") int k) {
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "lat must be between -90 and 90 and lon between -180 and 180.");
+        }
+        long version = stationSummaryReadModel.version();
+        List<FindNearestBikesUseCase.Result> results = findNearestBikesUseCase.execute(
+                new FindNearestBikesUseCase.Command(lat, lon, type, k));
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(version))
+                .body(results);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<StationSummaryReadModel.Changes> listChanges(@RequestParam long since) {
+        StationSummaryReadModel.Changes changes = stationSummaryReadModel.changesSince(since);
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(changes.version()))
+                .body(changes);
+    }
+
+    private static double[] parseBox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BBOX_FORMAT);
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BBOX_FORMAT);
+        }
+        return box;
     }
 }
@@ -1,11 +1,13 @@
 package com.sharecycle.ui;
 
 import com.sharecycle.application.BmsFacade;
+import com.sharecycle.application.StationSummaryReadModel;
 import com.sharecycle.domain.model.User;
 import com.sharecycle.domain.model.Station;
 import com.sharecycle.model.dto.StationDetailsDto;
 import com.sharecycle.model.dto.StationSummaryDto;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -24,14 +27,30 @@ import java.util.UUID;
 public class StationController {
 
     private final BmsFacade bmsFacade;
+    private final StationSummaryReadModel stationSummaryReadModel;
 
-    public StationController(BmsFacade bmsFacade) {
+    public StationController(BmsFacade bmsFacade, StationSummaryReadModel stationSummaryReadModel) {
         this.bmsFacade = bmsFacade;
+        this.stationSummaryReadModel = stationSummaryReadModel;
     }
 
+    /**
+     * Tagged with the snapshot version; a matching {@code If-None-Match} gets an empty 304.
+     */
     @GetMapping
-    public List<StationSummaryDto> listStations() {
-        return bmsFacade.listStations();
+    public ResponseEntity<List<StationSummaryDto>> listStations() {
+        StationSummaryReadModel.Snapshot snapshot = stationSummaryReadModel.snapshot();
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(snapshot.version()))
+                .body(snapshot.stations());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<StationSummaryReadModel.Changes> listChanges(@RequestParam long since) {
+        StationSummaryReadModel.Changes changes = stationSummaryReadModel.changesSince(since);
+        return ResponseEntity.ok()
+                .eTag(StationVersionTags.of(changes.version()))
+                .body(changes);
     }
 
     @GetMapping("/{stationId}/details")
@@ -40,6 +59,15 @@ public class StationController {
         return bmsFacade.getStationDetails(stationId, principalId);
     }
 
+    /**
+     * Details for every station in the request, with the caller's permissions resolved once.
+     */
+    @PostMapping("/details:batch")
+    public List<StationDetailsDto> getStationDetailsBatch(@RequestBody StationDetailsBatchRequest request) {
+        UUID principalId = extractPrincipalUserId();
+        return bmsFacade.getStationDetailsBatch(request.stationIds(), principalId);
+    }
+
     @PatchMapping("/{stationId}/status")
     public StationSummaryDto updateStatus(@PathVariable UUID stationId, @RequestBody UpdateStatusRequest request) {
         Station station = bmsFacade.updateStationStatus(request.operatorId(), stationId, request.outOfService());
@@ -87,4 +115,6 @@ public class StationController {
     public record AdjustCapacityRequest(UUID operatorId, int delta) { }
 
     public record MoveBikeRequest(UUID operatorId, UUID bikeId, UUID destinationStationId) { }
+
+    public record StationDetailsBatchRequest(List<UUID> stationIds) { }
 }
@@ -0,0 +1,16 @@
+package com.sharecycle.ui;
+
+/**
+ * Strong entity tags for station list responses, derived from the read model version.
+ * Spring answers a matching {@code If-None-Match} on a tagged {@code ResponseEntity} with 304
+ * and skips serializing the body.
+ */
+final class StationVersionTags {
+
+    private StationVersionTags() {
+    }
+
+    static String of(long version) {
+        return "\"stations-" + version + "\"";
+    }
+}
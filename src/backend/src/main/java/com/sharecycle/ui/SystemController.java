@@ -1,6 +1,7 @@
 package com.sharecycle.ui;
 
 import com.sharecycle.application.ResetSystemUseCase;
+import com.sharecycle.application.StationSummaryReadModel;
 import com.sharecycle.domain.model.User;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -15,9 +16,12 @@ import org.springframework.web.server.ResponseStatusException;
 public class SystemController {
 
     private final ResetSystemUseCase resetSystemUseCase;
+    private final StationSummaryReadModel stationSummaryReadModel;
 
-    public SystemController(ResetSystemUseCase resetSystemUseCase) {
+    public SystemController(ResetSystemUseCase resetSystemUseCase,
+                            StationSummaryReadModel stationSummaryReadModel) {
         this.resetSystemUseCase = resetSystemUseCase;
+        this.stationSummaryReadModel = stationSummaryReadModel;
     }
 
     @PostMapping("/reset")
@@ -27,6 +31,13 @@ public class SystemController {
         return new ResetResponse(summary.bikes(), summary.stations(), summary.docks());
     }
 
+    @PostMapping("/stations/rebuild")
+    public StationRebuildResponse rebuildStationSummaries() {
+        requireOperator();
+        StationSummaryReadModel.Snapshot snapshot = stationSummaryReadModel.rebuild();
+        return new StationRebuildResponse(snapshot.version(), snapshot.stations().size());
+    }
+
     private User requireOperator() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
@@ -40,5 +51,7 @@ public class SystemController {
     }
 
     public record ResetResponse(int bikes, int stations, int docks) {}
+
+    public record StationRebuildResponse(long version, int stations) {}
 }
 
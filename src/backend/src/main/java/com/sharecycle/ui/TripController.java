@@ -1,10 +1,15 @@
 package com.sharecycle.ui;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,10 +22,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import com.sharecycle.application.BmsFacade;
 import com.sharecycle.application.BmsFacade.TripCompletionResult;
+import com.sharecycle.application.ExportTripHistoryUseCase;
 import com.sharecycle.application.GetLastCompletedTripSummaryUseCase;
 import com.sharecycle.application.GetTripDetailsUseCase;
 import com.sharecycle.application.ListTripsUseCase;
@@ -43,19 +50,22 @@ public class TripController {
     private final GetLastCompletedTripSummaryUseCase getLastCompletedTripSummaryUseCase;
     private final JpaLedgerEntryRepository ledgerEntryRepository;
     private final PaymentUseCase paymentUseCase;
+    private final ExportTripHistoryUseCase exportTripHistoryUseCase;
 
     public TripController(BmsFacade bmsFacade,
                           GetTripDetailsUseCase getTripDetailsUseCase,
                           ListTripsUseCase listTripsUseCase,
                           GetLastCompletedTripSummaryUseCase getLastCompletedTripSummaryUseCase,
                           JpaLedgerEntryRepository ledgerEntryRepository,
-                          PaymentUseCase paymentUseCase) {
+                          PaymentUseCase paymentUseCase,
+                          ExportTripHistoryUseCase exportTripHistoryUseCase) {
         this.bmsFacade = bmsFacade;
         this.getTripDetailsUseCase = getTripDetailsUseCase;
         this.listTripsUseCase = listTripsUseCase;
         this.getLastCompletedTripSummaryUseCase = getLastCompletedTripSummaryUseCase;
         this.ledgerEntryRepository = ledgerEntryRepository;
         this.paymentUseCase = paymentUseCase;
+        this.exportTripHistoryUseCase = exportTripHistoryUseCase;
     }
 
     @PostMapping
@@ -161,27 +171,95 @@ public class TripController {
             @RequestParam(name = "bikeType", required = false) String bikeTypeValue,
             @RequestParam(name = "tripId", required = false) String tripId,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "pageSize", defaultValue = "8") int pageSize) {
+            @RequestParam(name = "pageSize", defaultValue = "8") int pageSize,
+            @RequestParam(name = "approximate", defaultValue = "false") boolean approximate) {
         User currentUser = requireAuthenticatedUser();
         String effectiveRole = resolveEffectiveRole(currentUser);
-        Bike.BikeType bikeType = null;
-        if (bikeTypeValue != null && !bikeTypeValue.isBlank()) {
-            try {
-                bikeType = Bike.BikeType.valueOf(bikeTypeValue.trim().toUpperCase());
-            } catch (IllegalArgumentException ex) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bikeType value: " + bikeTypeValue);
-            }
-        }
+        Bike.BikeType bikeType = parseBikeType(bikeTypeValue);
         if (page < 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be greater than or equal to 0.");
         }
+        requireValidPageSize(pageSize);
+        return listTripsUseCase.execute(currentUser, startTime, endTime, bikeType, page, pageSize, tripId, effectiveRole,
+                approximate);
+    }
+
+    private static Bike.BikeType parseBikeType(String bikeTypeValue) {
+        if (bikeTypeValue == null || bikeTypeValue.isBlank()) {
+            return null;
+        }
+        try {
+            return Bike.BikeType.valueOf(bikeTypeValue.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bikeType value: " + bikeTypeValue);
+        }
+    }
+
+    private static void requireValidPageSize(int pageSize) {
         final int maxPageSize = 50;
         if (pageSize <= 0 || pageSize > maxPageSize) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
                     "pageSize must be between 1 and " + maxPageSize + ".");
         }
-        return listTripsUseCase.execute(currentUser, startTime, endTime, bikeType, page, pageSize, tripId, effectiveRole);
+    }
+
+    /**
+     * Keyset-paged history, selected by passing {@code cursor} (blank for the first page,
+     * then each page's {@code nextCursor}). Every page costs the same however deep it is;
+     * {@code includeTotal=true} adds a count.
+     */
+    @GetMapping(params = "cursor")
+    public ListTripsUseCase.TripHistoryCursorPage listTripsAfterCursor(
+            @RequestParam(name = "startTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(name = "endTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(name = "bikeType", required = false) String bikeTypeValue,
+            @RequestParam(name = "tripId", required = false) String tripId,
+            @RequestParam(name = "cursor") String cursor,
+            @RequestParam(name = "pageSize", defaultValue = "8") int pageSize,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        User currentUser = requireAuthenticatedUser();
+        String effectiveRole = resolveEffectiveRole(currentUser);
+        Bike.BikeType bikeType = parseBikeType(bikeTypeValue);
+        requireValidPageSize(pageSize);
+        return listTripsUseCase.executeAfterCursor(currentUser, startTime, endTime, bikeType, tripId, cursor, pageSize,
+                includeTotal, effectiveRole);
+    }
+
+    /**
+     * Operator export of every completed trip with its billing, streamed as it is read.
+     * {@code format} is {@code csv} (default) or {@code ndjson}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTrips(
+            @RequestParam(name = "startTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(name = "endTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(name = "bikeType", required = false) String bikeTypeValue,
+            @RequestParam(name = "format", defaultValue = "csv") String formatValue) {
+        User currentUser = requireAuthenticatedUser();
+        if (!isOperator(currentUser)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Trip export is available to operators only.");
+        }
+        Bike.BikeType bikeType = parseBikeType(bikeTypeValue);
+        ExportTripHistoryUseCase.Format format;
+        try {
+            format = ExportTripHistoryUseCase.Format.valueOf(formatValue.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid format value: " + formatValue);
+        }
+        ExportTripHistoryUseCase.Command command = new ExportTripHistoryUseCase.Command(startTime, endTime, bikeType, format);
+        boolean csv = format == ExportTripHistoryUseCase.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "trips.csv" : "trips.ndjson")
+                        .build()
+                        .toString())
+                .body(out -> exportTripHistoryUseCase.export(command, out));
     }
 
     @GetMapping("/{tripId}")
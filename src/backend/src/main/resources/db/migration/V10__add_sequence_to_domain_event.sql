@@ -0,0 +1,4 @@
+ALTER TABLE domain_event
+    ADD COLUMN sequence_no BIGINT NULL;
+
+CREATE INDEX idx_domain_event_sequence ON domain_event (sequence_no);
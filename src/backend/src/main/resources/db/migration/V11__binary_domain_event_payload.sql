@@ -0,0 +1,3 @@
+-- Payloads are now written by the binary event codec instead of JSON; no rows carried one yet.
+ALTER TABLE domain_event
+    MODIFY COLUMN payload VARBINARY(4096) NULL;
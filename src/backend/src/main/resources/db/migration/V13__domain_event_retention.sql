@@ -0,0 +1,27 @@
+-- History lookups filter on one key and page by sequence number.
+CREATE INDEX idx_domain_event_type_seq ON domain_event (event_type, sequence_no);
+CREATE INDEX idx_domain_event_station_seq ON domain_event (station_id, sequence_no);
+CREATE INDEX idx_domain_event_bike_seq ON domain_event (bike_id, sequence_no);
+CREATE INDEX idx_domain_event_trip_seq ON domain_event (trip_id, sequence_no);
+
+-- Events past the hot window. No foreign keys: archived history outlives the rows it mentions.
+CREATE TABLE domain_event_archive (
+    event_id          BINARY(16)      NOT NULL,
+    sequence_no       BIGINT          NULL,
+    event_type        VARCHAR(100)    NOT NULL,
+    occurred_at       DATETIME        NOT NULL,
+    message           VARCHAR(500)    NULL,
+    payload           VARBINARY(4096) NULL,
+    principal_user_id BINARY(16)      NULL,
+    station_id        BINARY(16)      NULL,
+    bike_id           BINARY(16)      NULL,
+    trip_id           BINARY(16)      NULL,
+    CONSTRAINT pk_domain_event_archive PRIMARY KEY (event_id)
+);
+
+CREATE INDEX idx_domain_event_archive_seq ON domain_event_archive (sequence_no);
+CREATE INDEX idx_domain_event_archive_occurred ON domain_event_archive (occurred_at);
+CREATE INDEX idx_domain_event_archive_type_seq ON domain_event_archive (event_type, sequence_no);
+CREATE INDEX idx_domain_event_archive_station_seq ON domain_event_archive (station_id, sequence_no);
+CREATE INDEX idx_domain_event_archive_bike_seq ON domain_event_archive (bike_id, sequence_no);
+CREATE INDEX idx_domain_event_archive_trip_seq ON domain_event_archive (trip_id, sequence_no);
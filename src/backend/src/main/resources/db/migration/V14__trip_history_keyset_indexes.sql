@@ -0,0 +1,4 @@
+-- Keyset paging of trip history seeks on (end_time, start_time, trip_id), newest first,
+-- either across all riders or within one rider.
+CREATE INDEX idx_trips_end_start_id ON trips (end_time, start_time, trip_id);
+CREATE INDEX idx_trips_user_end_start_id ON trips (user_id, end_time, start_time, trip_id);
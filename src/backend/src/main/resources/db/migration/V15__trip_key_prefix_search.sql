@@ -0,0 +1,7 @@
+-- Trip history search matches a prefix of the trip id. trip_key holds the id in its
+-- lower-case text form so that search is an index range scan rather than a table scan.
+ALTER TABLE trips ADD COLUMN trip_key VARCHAR(36) NULL;
+
+UPDATE trips SET trip_key = LOWER(BIN_TO_UUID(trip_id)) WHERE trip_key IS NULL;
+
+CREATE INDEX idx_trips_trip_key ON trips (trip_key);
@@ -0,0 +1,41 @@
+-- Completed trips past the hot window, with their ledger entries. No foreign keys: archived
+-- history outlives the rows it mentions, and rows only ever arrive by bulk INSERT ... SELECT.
+-- archive_month (yyyymm of end_time) groups rows by month for later pruning or partitioning.
+CREATE TABLE trip_archive (
+    trip_id           BINARY(16)  NOT NULL,
+    user_id           BINARY(16)  NOT NULL,
+    bike_id           BINARY(16)  NOT NULL,
+    start_station_id  BINARY(16)  NOT NULL,
+    end_station_id    BINARY(16)  NULL,
+    start_time        DATETIME    NOT NULL,
+    end_time          DATETIME    NOT NULL,
+    duration_minutes  INT         NOT NULL DEFAULT 0,
+    trip_key          VARCHAR(36) NULL,
+    archive_month     INT         NOT NULL,
+    CONSTRAINT pk_trip_archive PRIMARY KEY (trip_id)
+);
+
+CREATE INDEX idx_trip_archive_month ON trip_archive (archive_month);
+CREATE INDEX idx_trip_archive_end_start_id ON trip_archive (end_time, start_time, trip_id);
+CREATE INDEX idx_trip_archive_user_end_start_id ON trip_archive (user_id, end_time, start_time, trip_id);
+CREATE INDEX idx_trip_archive_trip_key ON trip_archive (trip_key);
+
+CREATE TABLE ledger_entry_archive (
+    ledger_id           BINARY(16)    NOT NULL,
+    user_id             BINARY(16)    NOT NULL,
+    trip_id             BINARY(16)    NOT NULL,
+    status              SMALLINT      NOT NULL,
+    pricing_plan        VARCHAR(50)   NULL,
+    description         VARCHAR(255)  NULL,
+    bill_id             BINARY(16)    NULL,
+    bill_computed_at    DATETIME      NULL,
+    base_cost           DECIMAL(10,2) NOT NULL DEFAULT 0.0,
+    time_cost           DECIMAL(10,2) NOT NULL DEFAULT 0.0,
+    ebike_surcharge     DECIMAL(10,2) NOT NULL DEFAULT 0.0,
+    total_cost          DECIMAL(10,2) NOT NULL DEFAULT 0.0,
+    timestamp           DATETIME      NOT NULL,
+    flex_credit_applied DECIMAL(10,2) NULL,
+    CONSTRAINT pk_ledger_entry_archive PRIMARY KEY (ledger_id)
+);
+
+CREATE UNIQUE INDEX uq_ledger_entry_archive_trip ON ledger_entry_archive (trip_id);
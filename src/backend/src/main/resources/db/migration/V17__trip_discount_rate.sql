@@ -0,0 +1,7 @@
+-- Loyalty discount each trip was billed with, so trips can be re-priced later without
+-- reconstructing the rider's tier at the time. NULL on trips ended before this column existed.
+ALTER TABLE trips
+    ADD COLUMN discount_rate DOUBLE NULL;
+
+ALTER TABLE trip_archive
+    ADD COLUMN discount_rate DOUBLE NULL;
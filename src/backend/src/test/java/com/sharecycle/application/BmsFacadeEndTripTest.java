@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
@@ -28,6 +29,8 @@ import com.sharecycle.domain.repository.JpaStationRepository;
 import com.sharecycle.domain.repository.ReservationRepository;
 import com.sharecycle.domain.repository.TripRepository;
 import com.sharecycle.domain.repository.UserRepository;
+import com.sharecycle.infrastructure.StationChangeTracker;
+import com.sharecycle.model.dto.StationSummaryDto;
 
 @ExtendWith(MockitoExtension.class)
 class BmsFacadeEndTripTest {
@@ -65,7 +68,8 @@ class BmsFacadeEndTripTest {
                 bikeRepository,
                 tripRepository,
                 reservationRepository,
-                ledgerEntryRepository
+                ledgerEntryRepository,
+                new StationSummaryReadModel(stationRepository, new StationChangeTracker(), 0.01)
         );
 
         blockedStation = buildStation(UUID.randomUUID(), false);
@@ -83,7 +87,7 @@ class BmsFacadeEndTripTest {
         when(stationRepository.findById(stationId)).thenReturn(blockedStation);
         when(endTripAndBillUseCase.execute(activeTrip, blockedStation))
                 .thenThrow(new StationFullException(stationId));
-        when(stationRepository.findAll()).thenReturn(List.of(blockedStation, alternative));
+        when(stationRepository.findAllSummaries()).thenReturn(List.of(summaryOf(blockedStation), summaryOf(alternative)));
 
         BmsFacade.TripCompletionResult result = bmsFacade.endTrip(tripId, stationId);
 
@@ -112,7 +116,7 @@ class BmsFacadeEndTripTest {
         when(stationRepository.findById(stationId)).thenReturn(blockedStation);
         when(endTripAndBillUseCase.execute(activeTrip, blockedStation))
                 .thenThrow(new StationFullException(stationId));
-        when(stationRepository.findAll()).thenReturn(List.of(blockedStation));
+        when(stationRepository.findAllSummaries()).thenReturn(List.of(summaryOf(blockedStation)));
         when(ledgerEntryRepository.findAllByUser(activeTrip.getRider())).thenReturn(List.of());
 
         ArgumentCaptor<LedgerEntry> creditCaptor = ArgumentCaptor.forClass(LedgerEntry.class);
@@ -148,7 +152,7 @@ class BmsFacadeEndTripTest {
         when(stationRepository.findById(stationId)).thenReturn(blockedStation);
         when(endTripAndBillUseCase.execute(activeTrip, blockedStation))
                 .thenThrow(new StationFullException(stationId));
-        when(stationRepository.findAll()).thenReturn(List.of(blockedStation));
+        when(stationRepository.findAllSummaries()).thenReturn(List.of(summaryOf(blockedStation)));
 
         AtomicReference<LedgerEntry> savedCredit = new AtomicReference<>();
         when(ledgerEntryRepository.findAllByUser(activeTrip.getRider())).thenAnswer(invocation -> {
@@ -175,6 +179,35 @@ class BmsFacadeEndTripTest {
         verify(ledgerEntryRepository, times(1)).save(any());
     }
 
+    @Test
+    void blockedReturnFarFromEveryOpenStationStillFindsTheNearest() {
+        blockedStation.setLatitude(10.0);
+        blockedStation.setLongitude(10.0);
+        UUID tripId = activeTrip.getTripID();
+        UUID stationId = blockedStation.getId();
+        Station alternative = buildStation(UUID.randomUUID(), true);
+        List<StationSummaryDto> summaries = new ArrayList<>();
+        summaries.add(summaryOf(blockedStation));
+        summaries.add(summaryOf(alternative));
+        for (int i = 0; i < 200; i++) {
+            Station full = buildStation(UUID.randomUUID(), false);
+            full.setLatitude(45.0 + i * 0.01);
+            summaries.add(summaryOf(full));
+        }
+
+        when(tripRepository.findById(tripId)).thenReturn(activeTrip);
+        when(stationRepository.findById(stationId)).thenReturn(blockedStation);
+        when(endTripAndBillUseCase.execute(activeTrip, blockedStation))
+                .thenThrow(new StationFullException(stationId));
+        when(stationRepository.findAllSummaries()).thenReturn(summaries);
+
+        BmsFacade.TripCompletionResult result = bmsFacade.endTrip(tripId, stationId);
+
+        assertThat(result.blockInfo().suggestions())
+                .extracting(BmsFacade.TripCompletionResult.StationSuggestion::stationId)
+                .containsExactly(alternative.getId());
+    }
+
     private Trip buildActiveTrip(Station startStation) {
         Rider rider = new Rider();
         rider.setUserId(UUID.randomUUID());
@@ -203,6 +236,23 @@ class BmsFacadeEndTripTest {
         return station;
     }
 
+    private static StationSummaryDto summaryOf(Station station) {
+        return new StationSummaryDto(
+                station.getId(),
+                station.getName(),
+                station.getStatus(),
+                station.getAvailableBikeCount(),
+                station.getBikesDocked(),
+                station.getEBikesDocked(),
+                station.getEBikesAvailable(),
+                station.getCapacity(),
+                station.getFreeDockCount(),
+                station.getLatitude(),
+                station.getLongitude(),
+                station.getFullnessCategory()
+        );
+    }
+
     private void fillStation(Station station) {
         station.getDocks().forEach(dock -> {
             Bike dockedBike = new Bike();
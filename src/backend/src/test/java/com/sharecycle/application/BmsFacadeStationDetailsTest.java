@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +42,7 @@ public class BmsFacadeStationDetailsTest {
     @Mock private TripRepository tripRepository;
     @Mock private ReservationRepository reservationRepository;
     @Mock private JpaLedgerEntryRepository ledgerEntryRepository;
+    @Mock private StationSummaryReadModel stationSummaryReadModel;
 
     private BmsFacade bmsFacade;
 
@@ -59,7 +61,8 @@ public class BmsFacadeStationDetailsTest {
                 bikeRepository,
                 tripRepository,
                 reservationRepository,
-                ledgerEntryRepository
+                ledgerEntryRepository,
+                stationSummaryReadModel
         );
     }
     private Rider buildRider() {
@@ -177,5 +180,30 @@ public class BmsFacadeStationDetailsTest {
         assertThat(details.docks()).isNotEmpty();
         assertThat(details.docks().get(0).bikeType()).isEqualTo(Bike.BikeType.E_BIKE);
     }
+
+    @Test
+    void batchResolvesRiderContextOnceForAllStations() {
+        Rider rider = buildRider();
+        Station first = buildStationWithOneBike();
+        Station second = buildStationWithOneBike();
+        UUID unknown = UUID.randomUUID();
+        when(stationRepository.findAllByIds(anyCollection())).thenReturn(List.of(second, first));
+        when(userRepository.findById(rider.getUserId())).thenReturn(rider);
+        when(tripRepository.riderHasActiveTrip(rider.getUserId())).thenReturn(true);
+        when(reservationRepository.findByRiderId(rider.getUserId())).thenReturn(null);
+
+        List<StationDetailsDto> details = bmsFacade.getStationDetailsBatch(
+                List.of(first.getId(), unknown, second.getId()), rider.getUserId());
+
+        assertThat(details).extracting(StationDetailsDto::stationId).containsExactly(first.getId(), second.getId());
+        assertThat(details).allSatisfy(detail -> {
+            assertThat(detail.canReserve()).isFalse();
+            assertThat(detail.canReturn()).isTrue();
+        });
+        verify(userRepository, times(1)).findById(rider.getUserId());
+        verify(tripRepository, times(1)).riderHasActiveTrip(rider.getUserId());
+        verify(reservationRepository, times(1)).findByRiderId(rider.getUserId());
+        verify(stationRepository, never()).findById(any());
+    }
     
 }
@@ -0,0 +1,74 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.domain.repository.JpaStationRepository;
+import com.sharecycle.infrastructure.StationChangeTracker;
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class FindNearestBikesUseCaseTest {
+
+    private FindNearestBikesUseCase useCase;
+
+    private StationSummaryDto nearStandardOnly;
+    private StationSummaryDto farWithEBike;
+    private StationSummaryDto closedWithEBike;
+
+    @BeforeEach
+    void setUp() {
+        nearStandardOnly = summary("Near", Station.StationStatus.OCCUPIED, 45.5005, -73.5005, 2, 0);
+        farWithEBike = summary("Far", Station.StationStatus.OCCUPIED, 45.5200, -73.5200, 2, 1);
+        closedWithEBike = summary("Closed", Station.StationStatus.OUT_OF_SERVICE, 45.5001, -73.5001, 1, 1);
+
+        JpaStationRepository stationRepository = Mockito.mock(JpaStationRepository.class);
+        when(stationRepository.findAllSummaries()).thenReturn(List.of(nearStandardOnly, farWithEBike, closedWithEBike));
+        StationSummaryReadModel readModel = new StationSummaryReadModel(stationRepository, new StationChangeTracker(), 0.01);
+        useCase = new FindNearestBikesUseCase(readModel);
+    }
+
+    @Test
+    void eBikeSearchSkipsStationsWithoutAvailableEBikes() {
+        List<FindNearestBikesUseCase.Result> results = useCase.execute(
+                new FindNearestBikesUseCase.Command(45.5, -73.5, Bike.BikeType.E_BIKE, 3));
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.station().getStationId()).isEqualTo(farWithEBike.getStationId());
+            assertThat(result.available()).isEqualTo(1);
+            assertThat(result.distanceMeters()).isGreaterThan(2_000);
+        });
+    }
+
+    @Test
+    void standardSearchCountsOnlyStandardBikes() {
+        List<FindNearestBikesUseCase.Result> results = useCase.execute(
+                new FindNearestBikesUseCase.Command(45.5, -73.5, Bike.BikeType.STANDARD, 3));
+
+        assertThat(results).extracting(result -> result.station().getStationId())
+                .containsExactly(nearStandardOnly.getStationId(), farWithEBike.getStationId());
+        assertThat(results).extracting(FindNearestBikesUseCase.Result::available).containsExactly(2, 1);
+    }
+
+    @Test
+    void untypedSearchHonoursTheLimit() {
+        List<FindNearestBikesUseCase.Result> results = useCase.execute(
+                new FindNearestBikesUseCase.Command(45.5, -73.5, null, 1));
+
+        assertThat(results).extracting(result -> result.station().getStationId())
+                .containsExactly(nearStandardOnly.getStationId());
+    }
+
+    private static StationSummaryDto summary(String name, Station.StationStatus status, double latitude,
+                                             double longitude, int bikes, int eBikes) {
+        return new StationSummaryDto(UUID.randomUUID(), name, status, bikes, bikes, eBikes, eBikes,
+                bikes + 1, 1, latitude, longitude, "HEALTHY");
+    }
+}
@@ -0,0 +1,83 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class ListStationsInViewportUseCaseTest {
+
+    private ListStationsInViewportUseCase useCase;
+
+    private StationSummaryDto downtownA;
+    private StationSummaryDto downtownB;
+    private StationSummaryDto suburb;
+
+    @BeforeEach
+    void setUp() {
+        downtownA = summary("Downtown A", 45.5010, -73.5670, 3, 5);
+        downtownB = summary("Downtown B", 45.5020, -73.5660, 1, 9);
+        suburb = summary("Suburb", 45.6000, -73.7000, 2, 2);
+
+        Map<UUID, StationSummaryDto> byId = new HashMap<>();
+        for (StationSummaryDto summary : List.of(downtownA, downtownB, suburb)) {
+            byId.put(summary.getStationId(), summary);
+        }
+        StationSpatialIndex index = StationSpatialIndex.build(byId.values().stream()
+                .map(summary -> new StationSpatialIndex.Point(summary.getStationId(), summary.getLatitude(), summary.getLongitude()))
+                .toList(), 0.01);
+        StationSummaryReadModel.Snapshot snapshot = new StationSummaryReadModel.Snapshot(
+                7, 7, List.of(downtownA, downtownB, suburb), Map.copyOf(byId), Map.of(), Map.of(), index);
+
+        StationSummaryReadModel readModel = Mockito.mock(StationSummaryReadModel.class);
+        when(readModel.snapshot()).thenReturn(snapshot);
+        useCase = new ListStationsInViewportUseCase(readModel, 14);
+    }
+
+    @Test
+    void zoomedInViewportReturnsOnlyStationsInsideTheBox() {
+        ListStationsInViewportUseCase.Result result = useCase.execute(
+                new ListStationsInViewportUseCase.Command(45.49, -73.58, 45.51, -73.55, 16));
+
+        assertThat(result.version()).isEqualTo(7);
+        assertThat(result.stations()).containsExactly(downtownA, downtownB);
+        assertThat(result.clusters()).isEmpty();
+    }
+
+    @Test
+    void zoomedOutViewportClustersNeighbouringStations() {
+        ListStationsInViewportUseCase.Result result = useCase.execute(
+                new ListStationsInViewportUseCase.Command(45.0, -74.0, 46.0, -73.0, 10));
+
+        assertThat(result.stations()).containsExactly(suburb);
+        assertThat(result.clusters()).singleElement().satisfies(cluster -> {
+            assertThat(cluster.stations()).isEqualTo(2);
+            assertThat(cluster.bikesAvailable()).isEqualTo(4);
+            assertThat(cluster.freeDocks()).isEqualTo(14);
+            assertThat(cluster.latitude()).isBetween(45.5010, 45.5020);
+        });
+    }
+
+    @Test
+    void viewportWithoutStationsIsEmpty() {
+        ListStationsInViewportUseCase.Result result = useCase.execute(
+                new ListStationsInViewportUseCase.Command(10.0, 10.0, 11.0, 11.0, 12));
+
+        assertThat(result.stations()).isEmpty();
+        assertThat(result.clusters()).isEmpty();
+    }
+
+    private static StationSummaryDto summary(String name, double latitude, double longitude, int bikes, int freeDocks) {
+        return new StationSummaryDto(UUID.randomUUID(), name, Station.StationStatus.OCCUPIED, bikes, bikes, 0, 0,
+                bikes + freeDocks, freeDocks, latitude, longitude, "HEALTHY");
+    }
+}
@@ -78,6 +78,11 @@ class ListTripsUseCaseTest {
         assertEquals(testUser.getUserId(), entry.riderId());
         assertEquals("Test", entry.riderName());
         assertEquals(10.50, entry.totalCost(), 0.0001);
+        assertEquals("Start Station", entry.startStationName());
+        assertEquals("End Station", entry.endStationName());
+        assertEquals(Bike.BikeType.E_BIKE, entry.bikeType());
+        assertEquals(testBike.getId(), entry.bikeId());
+        assertEquals(LedgerEntry.LedgerStatus.PENDING, entry.ledgerStatus());
     }
 
     @Test
@@ -0,0 +1,159 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.DefaultPricingPlans;
+import com.sharecycle.domain.PayAsYouGoStrategy;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.PricingPlan;
+import com.sharecycle.domain.repository.TripRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+class SimulatePricingUseCaseTest {
+
+    private static final PricingPlan PAYG = DefaultPricingPlans.planForType(PricingPlan.PlanType.PAY_AS_YOU_GO);
+    private static final PricingPlan MONTHLY = DefaultPricingPlans.planForType(PricingPlan.PlanType.MONTHLY_SUBSCRIBER);
+
+    private TripRepository tripRepository;
+    private SimulatePricingUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        tripRepository = Mockito.mock(TripRepository.class);
+        useCase = new SimulatePricingUseCase(tripRepository, 4, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        useCase.stop();
+    }
+
+    @Test
+    void revenueAndHistogramMatchPerTripPricingAcrossManyRanges() {
+        // More than one chunk, and a last chunk that is only partly filled.
+        int tripCount = SimulatePricingUseCase.CHUNK_TRIPS * 2 + 12_345;
+        doAnswer(invocation -> {
+            TripRepository.PricingInputSink sink = invocation.getArgument(1);
+            for (int i = 0; i < tripCount; i++) {
+                sink.accept(minutesOf(i), typeOf(i), roleOf(i), discountOf(i));
+            }
+            return null;
+        }).when(tripRepository).scanPricingInputs(anyInt(), any());
+        PricingPlan cheap = new PricingPlan(UUID.randomUUID(), "Cheap", null, 1.0, 0.5, 0.1,
+                PricingPlan.PlanType.PAY_AS_YOU_GO);
+
+        SimulatePricingUseCase.Result result = useCase.execute(
+                new SimulatePricingUseCase.Command(List.of(PAYG, cheap, MONTHLY), 10.0, 20));
+
+        assertThat(result.trips()).isEqualTo(tripCount);
+        assertThat(result.plans()).hasSize(3);
+        assertPlanMatches(result.plans().get(0), PAYG, tripCount, 10.0, 20);
+        assertPlanMatches(result.plans().get(1), cheap, tripCount, 10.0, 20);
+
+        SimulatePricingUseCase.PlanResult monthly = result.plans().get(2);
+        assertThat(monthly.revenue()).isZero();
+        assertThat(monthly.histogram().get(0).trips()).isEqualTo(tripCount);
+    }
+
+    @Test
+    void lastBucketIsOpenEnded() {
+        doAnswer(invocation -> {
+            TripRepository.PricingInputSink sink = invocation.getArgument(1);
+            sink.accept(1, Bike.BikeType.STANDARD, "RIDER", 0.0);
+            sink.accept(1_000, Bike.BikeType.STANDARD, "RIDER", 0.0);
+            return null;
+        }).when(tripRepository).scanPricingInputs(anyInt(), any());
+
+        SimulatePricingUseCase.Result result = useCase.execute(
+                new SimulatePricingUseCase.Command(List.of(PAYG), 5.0, 3));
+
+        List<SimulatePricingUseCase.Bucket> histogram = result.plans().get(0).histogram();
+        assertThat(histogram).extracting(SimulatePricingUseCase.Bucket::trips).containsExactly(0L, 1L, 1L);
+        assertThat(histogram.get(2).from()).isEqualTo(10.0);
+        assertThat(histogram.get(2).to()).isNull();
+        assertThat(result.plans().get(0).maxCost()).isEqualTo(6_000.0);
+    }
+
+    @Test
+    void rejectsASecondSimulationWhileOneIsRunning() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            scanning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(tripRepository).scanPricingInputs(anyInt(), any());
+        SimulatePricingUseCase.Command command = new SimulatePricingUseCase.Command(List.of(PAYG), 5.0, 3);
+        CompletableFuture<SimulatePricingUseCase.Result> first =
+                CompletableFuture.supplyAsync(() -> useCase.execute(command));
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> useCase.execute(command)).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).trips()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidCommands() {
+        assertThatThrownBy(() -> useCase.execute(new SimulatePricingUseCase.Command(List.of(), 1.0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> useCase.execute(new SimulatePricingUseCase.Command(List.of(PAYG), 0.0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        PricingPlan negative = new PricingPlan(null, "Negative", null, -1.0, 0.1, null,
+                PricingPlan.PlanType.PAY_AS_YOU_GO);
+        assertThatThrownBy(() -> useCase.execute(new SimulatePricingUseCase.Command(List.of(negative), 1.0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertPlanMatches(SimulatePricingUseCase.PlanResult result, PricingPlan plan, int tripCount,
+                                          double bucketWidth, int buckets) {
+        double revenue = 0.0;
+        double maxCost = 0.0;
+        long[] histogram = new long[buckets];
+        for (int i = 0; i < tripCount; i++) {
+            double cost = PayAsYouGoStrategy.totalCost(plan, minutesOf(i), typeOf(i) == Bike.BikeType.E_BIKE,
+                    "OPERATOR".equals(roleOf(i)), discountOf(i));
+            revenue += cost;
+            maxCost = Math.max(maxCost, cost);
+            histogram[Math.min((int) (cost / bucketWidth), buckets - 1)]++;
+        }
+        assertThat(result.name()).isEqualTo(plan.getName());
+        assertThat(result.revenue()).isCloseTo(revenue, within(0.01));
+        assertThat(result.averageCost()).isCloseTo(revenue / tripCount, within(0.01));
+        assertThat(result.maxCost()).isCloseTo(maxCost, within(0.01));
+        assertThat(result.histogram()).extracting(SimulatePricingUseCase.Bucket::trips)
+                .containsExactly(Arrays.stream(histogram).boxed().toArray(Long[]::new));
+    }
+
+    private static int minutesOf(int i) {
+        return i % 90;
+    }
+
+    private static Bike.BikeType typeOf(int i) {
+        return i % 3 == 0 ? Bike.BikeType.E_BIKE : Bike.BikeType.STANDARD;
+    }
+
+    private static String roleOf(int i) {
+        return i % 11 == 0 ? "OPERATOR" : (i % 13 == 0 ? null : "RIDER");
+    }
+
+    private static double discountOf(int i) {
+        return new double[] {0.0, 0.05, 0.10, 0.15}[i % 4];
+    }
+}
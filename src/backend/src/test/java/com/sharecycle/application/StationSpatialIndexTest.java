@@ -0,0 +1,115 @@
+package com.sharecycle.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StationSpatialIndexTest {
+
+    @Test
+    void nearestMatchesABruteForceScan() {
+        Random random = new Random(42);
+        List<StationSpatialIndex.Point> points = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            points.add(new StationSpatialIndex.Point(UUID.randomUUID(),
+                    45.40 + random.nextDouble() * 0.30,
+                    -73.80 + random.nextDouble() * 0.40));
+        }
+        StationSpatialIndex index = StationSpatialIndex.build(points, 0.01);
+
+        for (int query = 0; query < 50; query++) {
+            double latitude = 45.35 + random.nextDouble() * 0.40;
+            double longitude = -73.85 + random.nextDouble() * 0.50;
+
+            List<UUID> expected = points.stream()
+                    .sorted(Comparator.comparingDouble(point -> StationSpatialIndex.distanceMeters(
+                            latitude, longitude, point.latitude(), point.longitude())))
+                    .limit(3)
+                    .map(StationSpatialIndex.Point::stationId)
+                    .toList();
+
+            List<UUID> actual = index.nearest(latitude, longitude, 3, id -> true).stream()
+                    .map(StationSpatialIndex.Neighbor::stationId)
+                    .toList();
+
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void rejectedStationsAreSkippedInFavourOfFartherOnes() {
+        UUID near = UUID.randomUUID();
+        UUID far = UUID.randomUUID();
+        StationSpatialIndex index = StationSpatialIndex.build(List.of(
+                new StationSpatialIndex.Point(near, 45.5001, -73.5001),
+                new StationSpatialIndex.Point(far, 45.60, -73.40)
+        ), 0.01);
+
+        List<StationSpatialIndex.Neighbor> found = index.nearest(45.5, -73.5, 1, id -> !id.equals(near));
+
+        assertThat(found).extracting(StationSpatialIndex.Neighbor::stationId).containsExactly(far);
+        assertThat(found.get(0).distanceMeters()).isGreaterThan(10_000);
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        StationSpatialIndex index = StationSpatialIndex.build(List.of(), 0.01);
+
+        assertThat(index.nearest(45.5, -73.5, 3, id -> true)).isEmpty();
+    }
+
+    @Test
+    void farAwayQueryScansOccupiedCellsInsteadOfWalkingRings() {
+        List<StationSpatialIndex.Point> points = montrealStations(500);
+        StationSpatialIndex index = StationSpatialIndex.build(points, 0.01);
+        UUID expected = points.stream()
+                .min(Comparator.comparingDouble(point -> StationSpatialIndex.distanceMeters(
+                        0, 0, point.latitude(), point.longitude())))
+                .orElseThrow()
+                .stationId();
+
+        List<StationSpatialIndex.Neighbor> found = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> index.nearest(0, 0, 1, id -> true));
+
+        assertThat(found).extracting(StationSpatialIndex.Neighbor::stationId).containsExactly(expected);
+    }
+
+    @Test
+    void filterThatAcceptsNothingChecksEachStationAtMostOnce() {
+        List<StationSpatialIndex.Point> points = montrealStations(500);
+        StationSpatialIndex index = StationSpatialIndex.build(points, 0.01);
+        AtomicInteger checked = new AtomicInteger();
+
+        for (double[] query : new double[][] {{45.5, -73.6}, {0, 0}, {-89.9, 179.9}}) {
+            checked.set(0);
+            List<StationSpatialIndex.Neighbor> found = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> index.nearest(query[0], query[1], 3, id -> {
+                        checked.incrementAndGet();
+                        return false;
+                    }));
+
+            assertThat(found).isEmpty();
+            assertThat(checked.get()).isEqualTo(points.size());
+        }
+    }
+
+    private static List<StationSpatialIndex.Point> montrealStations(int count) {
+        Random random = new Random(7);
+        List<StationSpatialIndex.Point> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(new StationSpatialIndex.Point(UUID.randomUUID(),
+                    45.40 + random.nextDouble() * 0.30,
+                    -73.80 + random.nextDouble() * 0.40));
+        }
+        return points;
+    }
+}
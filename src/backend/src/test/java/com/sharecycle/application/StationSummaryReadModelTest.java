@@ -0,0 +1,116 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.domain.repository.JpaStationRepository;
+import com.sharecycle.infrastructure.StationChangeTracker;
+import com.sharecycle.model.dto.StationSummaryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PaymentGatewayTestConfig.class)
+class StationSummaryReadModelTest {
+
+    @Autowired
+    private StationSummaryReadModel readModel;
+
+    @Autowired
+    private StationChangeTracker changeTracker;
+
+    @Autowired
+    private JpaStationRepository stationRepository;
+
+    private Station station;
+
+    @BeforeEach
+    void setUp() {
+        station = new Station();
+        station.setName("Read Model Station");
+        station.setLatitude(45.5);
+        station.setLongitude(-73.6);
+        station.markActive();
+        station.addEmptyDocks(2);
+        stationRepository.save(station);
+    }
+
+    @Test
+    void unchangedStateIsServedFromTheSameSnapshot() {
+        StationSummaryReadModel.Snapshot first = readModel.current();
+        StationSummaryReadModel.Snapshot second = readModel.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.byId()).containsKey(station.getId());
+    }
+
+    @Test
+    void committedDockChangeIsVisibleOnTheNextRead() {
+        long before = readModel.version();
+
+        Station managed = stationRepository.findById(station.getId());
+        managed.getDocks().get(0).setOccupiedBike(new Bike(Bike.BikeType.E_BIKE));
+        stationRepository.save(managed);
+
+        StationSummaryDto summary = readModel.find(station.getId()).orElseThrow();
+        assertThat(readModel.version()).isGreaterThan(before);
+        assertThat(summary.getBikesDocked()).isEqualTo(1);
+        assertThat(summary.getEBikesAvailable()).isEqualTo(1);
+        assertThat(summary.getFreeDocks()).isEqualTo(1);
+    }
+
+    @Test
+    void changesSinceReturnsOnlyStationsChangedAfterTheGivenVersion() {
+        Station other = new Station();
+        other.setName("Untouched Station");
+        other.setLatitude(45.4);
+        other.setLongitude(-73.5);
+        other.markActive();
+        other.addEmptyDocks(1);
+        stationRepository.save(other);
+        long before = readModel.version();
+
+        Station managed = stationRepository.findById(station.getId());
+        managed.getDocks().get(0).setOccupiedBike(new Bike(Bike.BikeType.STANDARD));
+        stationRepository.save(managed);
+
+        StationSummaryReadModel.Changes changes = readModel.changesSince(before);
+        assertThat(changes.full()).isFalse();
+        assertThat(changes.version()).isGreaterThan(before);
+        assertThat(changes.stations()).extracting(StationSummaryDto::getStationId).containsExactly(station.getId());
+        assertThat(readModel.changesSince(changes.version()).stations()).isEmpty();
+    }
+
+    @Test
+    void reloadWithoutDifferenceKeepsTheVersion() {
+        long before = readModel.version();
+
+        changeTracker.stationChanged(station.getId());
+
+        assertThat(readModel.version()).isEqualTo(before);
+    }
+
+    @Test
+    void unknownVersionFallsBackToTheFullList() {
+        StationSummaryReadModel.Changes changes = readModel.changesSince(0);
+
+        assertThat(changes.full()).isTrue();
+        assertThat(changes.stations()).extracting(StationSummaryDto::getStationId).contains(station.getId());
+    }
+
+    @Test
+    void invalidateAllForcesAFullRebuild() {
+        long before = readModel.version();
+
+        changeTracker.invalidateAll();
+
+        assertThat(readModel.version()).isGreaterThan(before);
+        assertThat(readModel.find(station.getId())).isPresent();
+    }
+}
@@ -0,0 +1,146 @@
+package com.sharecycle.application;
+
+import com.sharecycle.domain.event.TripEndedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.repository.TripRepository;
+import com.sharecycle.infrastructure.TripChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TripHistoryCountCacheTest {
+
+    private static final LocalDateTime MARCH_START = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime MARCH_END = LocalDateTime.of(2025, 3, 31, 23, 59);
+
+    private TripRepository tripRepository;
+    private TripChangeTracker changeTracker;
+    private TripHistoryCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        tripRepository = Mockito.mock(TripRepository.class);
+        changeTracker = new TripChangeTracker();
+        cache = new TripHistoryCountCache(tripRepository, null, changeTracker, 60_000, 100);
+    }
+
+    @Test
+    void repeatedFilterIsCountedOnce() {
+        when(tripRepository.countHistory(null, MARCH_START, MARCH_END, null, null)).thenReturn(42L);
+
+        assertThat(cache.count(null, MARCH_START, MARCH_END, null, null)).isEqualTo(42);
+        assertThat(cache.count(null, MARCH_START, MARCH_END, null, null)).isEqualTo(42);
+
+        verify(tripRepository, times(1)).countHistory(null, MARCH_START, MARCH_END, null, null);
+    }
+
+    @Test
+    void tripEndingInsideTheWindowInvalidatesOnlyMatchingFilters() {
+        LocalDateTime aprilStart = MARCH_START.plusMonths(1);
+        LocalDateTime aprilEnd = MARCH_END.plusMonths(1);
+        when(tripRepository.countHistory(null, MARCH_START, MARCH_END, null, null)).thenReturn(42L, 43L);
+        when(tripRepository.countHistory(null, aprilStart, aprilEnd, null, null)).thenReturn(7L);
+        cache.count(null, MARCH_START, MARCH_END, null, null);
+        cache.count(null, aprilStart, aprilEnd, null, null);
+
+        cache.onEvent(new TripEndedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                Bike.BikeType.STANDARD, UUID.randomUUID(), MARCH_START.plusDays(10)));
+
+        assertThat(cache.count(null, MARCH_START, MARCH_END, null, null)).isEqualTo(43);
+        assertThat(cache.count(null, aprilStart, aprilEnd, null, null)).isEqualTo(7);
+        verify(tripRepository, times(1)).countHistory(null, aprilStart, aprilEnd, null, null);
+    }
+
+    @Test
+    void otherRidersAndBikeTypesKeepTheirEntries() {
+        UUID riderId = UUID.randomUUID();
+        when(tripRepository.countHistory(riderId, null, null, Bike.BikeType.E_BIKE, null)).thenReturn(3L);
+        cache.count(riderId, null, null, Bike.BikeType.E_BIKE, null);
+
+        cache.onEvent(new TripEndedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                Bike.BikeType.E_BIKE, UUID.randomUUID(), MARCH_START));
+        cache.onEvent(new TripEndedEvent(UUID.randomUUID(), riderId, UUID.randomUUID(),
+                Bike.BikeType.STANDARD, UUID.randomUUID(), MARCH_START));
+
+        assertThat(cache.count(riderId, null, null, Bike.BikeType.E_BIKE, null)).isEqualTo(3);
+        verify(tripRepository, times(1)).countHistory(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void approximateCountSumsDailyCountersAndFollowsEndedTrips() {
+        when(tripRepository.countCompletedByDay()).thenReturn(List.of(
+                new TripRepository.DailyCount(LocalDate.of(2025, 2, 28), Bike.BikeType.STANDARD, 5),
+                new TripRepository.DailyCount(LocalDate.of(2025, 3, 1), Bike.BikeType.STANDARD, 4),
+                new TripRepository.DailyCount(LocalDate.of(2025, 3, 1), Bike.BikeType.E_BIKE, 2),
+                new TripRepository.DailyCount(LocalDate.of(2025, 3, 31), Bike.BikeType.E_BIKE, 1)));
+
+        assertThat(cache.approximateCount(MARCH_START, MARCH_END, null)).isEqualTo(7);
+        assertThat(cache.approximateCount(MARCH_START, MARCH_END, Bike.BikeType.E_BIKE)).isEqualTo(3);
+        assertThat(cache.approximateCount(null, null, null)).isEqualTo(12);
+
+        cache.onEvent(new TripEndedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                Bike.BikeType.E_BIKE, UUID.randomUUID(), MARCH_START.plusDays(3)));
+
+        assertThat(cache.approximateCount(MARCH_START, MARCH_END, Bike.BikeType.E_BIKE)).isEqualTo(4);
+        verify(tripRepository, times(1)).countCompletedByDay();
+    }
+
+    @Test
+    void tripEndingWhileDailyCountsLoadIsStillCounted() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tripRepository.countCompletedByDay()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new TripRepository.DailyCount(LocalDate.of(2025, 3, 1), Bike.BikeType.STANDARD, 4));
+        });
+        Thread reader = new Thread(() -> cache.approximateCount(MARCH_START, MARCH_END, null));
+        reader.start();
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Ends after the load has read the database but before it has published its counters.
+        Thread ender = new Thread(() -> cache.tripEnded(new TripEndedEvent(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), Bike.BikeType.STANDARD, UUID.randomUUID(), MARCH_START.plusDays(1))));
+        ender.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ender.getState() != Thread.State.BLOCKED && ender.isAlive()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        reader.join(5_000);
+        ender.join(5_000);
+
+        assertThat(cache.approximateCount(MARCH_START, MARCH_END, null)).isEqualTo(5);
+    }
+
+    @Test
+    void bulkTripChangesDropExactAndDailyCounts() {
+        when(tripRepository.countHistory(null, MARCH_START, MARCH_END, null, null)).thenReturn(42L, 0L);
+        when(tripRepository.countCompletedByDay()).thenReturn(
+                List.of(new TripRepository.DailyCount(LocalDate.of(2025, 3, 1), Bike.BikeType.STANDARD, 4)),
+                List.of());
+        cache.count(null, MARCH_START, MARCH_END, null, null);
+        cache.approximateCount(MARCH_START, MARCH_END, null);
+
+        changeTracker.invalidateAll();
+
+        assertThat(cache.count(null, MARCH_START, MARCH_END, null, null)).isZero();
+        assertThat(cache.approximateCount(MARCH_START, MARCH_END, null)).isZero();
+        verify(tripRepository, times(2)).countHistory(null, MARCH_START, MARCH_END, null, null);
+        verify(tripRepository, times(2)).countCompletedByDay();
+    }
+}
@@ -2,6 +2,8 @@ package com.sharecycle.application;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -27,6 +29,7 @@ import com.sharecycle.domain.model.Station;
 import com.sharecycle.domain.model.Trip;
 import com.sharecycle.domain.repository.JpaLedgerEntryRepository;
 import com.sharecycle.domain.repository.JpaBikeRepository;
+import com.sharecycle.domain.repository.TripRepository;
 import com.sharecycle.infrastructure.persistence.JpaTripRepository;
 import com.sharecycle.infrastructure.persistence.JpaUserRepository;
 
@@ -37,6 +40,8 @@ class TripHistoryPaginationTest {
     @Autowired
     private ListTripsUseCase listTripsUseCase;
     @Autowired
+    private ExportTripHistoryUseCase exportTripHistoryUseCase;
+    @Autowired
     private JpaTripRepository tripRepository;
     @Autowired
     private JpaLedgerEntryRepository ledgerEntryRepository;
@@ -144,6 +149,100 @@ class TripHistoryPaginationTest {
         assertExclusions(page.entries());
     }
 
+    @Test
+    @Transactional
+    void riderHistoryCursorPagesAreContiguous() {
+        List<UUID> returnedIds = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            ListTripsUseCase.TripHistoryCursorPage page = listTripsUseCase.executeAfterCursor(
+                    riderOne, null, null, null, null, cursor, 4, pages == 0, "RIDER");
+            if (pages == 0) {
+                assertThat(page.totalItems()).isEqualTo(riderOneTripOrder.size());
+            } else {
+                assertThat(page.totalItems()).isNull();
+            }
+            assertDescendingByEndTime(page.entries());
+            assertExclusions(page.entries());
+            page.entries().forEach(entry -> returnedIds.add(entry.tripId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        List<UUID> expectedOrder = new ArrayList<>(riderOneTripOrder);
+        Collections.reverse(expectedOrder);
+        assertThat(returnedIds).containsExactlyElementsOf(expectedOrder);
+    }
+
+    @Test
+    @Transactional
+    void cursorPointsAtLastEntryAndRejectsGarbage() {
+        ListTripsUseCase.TripHistoryCursorPage page = listTripsUseCase.executeAfterCursor(
+                riderOne, null, null, null, null, null, 1, false, "RIDER");
+        TripRepository.SeekPosition position = ListTripsUseCase.decodeCursor(page.nextCursor());
+
+        assertThat(position.tripId()).isEqualTo(page.entries().get(0).tripId());
+        assertThat(position.endTime()).isEqualTo(page.entries().get(0).endTime());
+        assertThat(ListTripsUseCase.decodeCursor(" ")).isNull();
+        assertThatThrownBy(() -> ListTripsUseCase.decodeCursor("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor.");
+    }
+
+    @Test
+    @Transactional
+    void tripIdSearchMatchesIdPrefixCaseInsensitively() {
+        UUID target = riderOneTripOrder.get(3);
+        String prefix = target.toString().substring(0, 8).toUpperCase();
+
+        ListTripsUseCase.TripHistoryPage page = listTripsUseCase.execute(
+                operatorUser, null, null, null, 0, 8, " " + prefix + " ", "OPERATOR");
+        assertThat(page.entries()).extracting(ListTripsUseCase.TripHistoryEntry::tripId).contains(target);
+        assertThat(page.entries()).allMatch(entry -> entry.tripId().toString().startsWith(prefix.toLowerCase()));
+        assertThat(page.totalItems()).isEqualTo(page.entries().size());
+
+        ListTripsUseCase.TripHistoryPage otherRider = listTripsUseCase.execute(
+                riderTwo, null, null, null, 0, 8, prefix, "RIDER");
+        assertThat(otherRider.entries()).extracting(ListTripsUseCase.TripHistoryEntry::tripId).doesNotContain(target);
+
+        ListTripsUseCase.TripHistoryPage wildcard = listTripsUseCase.execute(
+                operatorUser, null, null, null, 0, 8, "%", "OPERATOR");
+        assertThat(wildcard.entries()).isEmpty();
+        assertThat(wildcard.totalItems()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void csvExportStreamsEveryCompletedTripInHistoryOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportTripHistoryUseCase.export(
+                new ExportTripHistoryUseCase.Command(null, null, null, ExportTripHistoryUseCase.Format.CSV), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).isEqualTo(ExportTripHistoryUseCase.CSV_HEADER);
+        List<UUID> exported = lines.subList(1, lines.size()).stream()
+                .map(line -> UUID.fromString(line.substring(0, line.indexOf(','))))
+                .toList();
+        assertThat(exported).containsAll(riderOneTripOrder).containsAll(riderTwoTripOrder)
+                .doesNotContain(maintenanceTripId, activeTripId);
+        assertThat(exported.indexOf(riderOneTripOrder.get(9))).isLessThan(exported.indexOf(riderOneTripOrder.get(0)));
+        assertThat(lines.get(1 + exported.indexOf(riderOneTripOrder.get(0)))).contains(",History Rider,", ",3.0,");
+    }
+
+    @Test
+    @Transactional
+    void csvFieldsAreQuotedOnlyWhenNeeded() {
+        assertThat(ExportTripHistoryUseCase.csv("Plain")).isEqualTo("Plain");
+        assertThat(ExportTripHistoryUseCase.csv("Smith, \"Jo\"")).isEqualTo("\"Smith, \"\"Jo\"\"\"");
+        assertThat(ExportTripHistoryUseCase.csv(null)).isEmpty();
+        assertThat(ExportTripHistoryUseCase.csv("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(ExportTripHistoryUseCase.csv("+1")).isEqualTo("'+1");
+        assertThat(ExportTripHistoryUseCase.csv("-2")).isEqualTo("'-2");
+        assertThat(ExportTripHistoryUseCase.csv("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+    }
+
     private void assertExclusions(List<ListTripsUseCase.TripHistoryEntry> entries) {
         assertThat(entries).noneMatch(entry -> entry.tripId().equals(maintenanceTripId));
         assertThat(entries).noneMatch(entry -> entry.tripId().equals(activeTripId));
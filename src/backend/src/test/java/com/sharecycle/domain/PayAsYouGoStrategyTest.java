@@ -58,6 +58,25 @@ class PayAsYouGoStrategyTest {
         assertThat(bill.getTotalCost()).isEqualTo(bill.getBaseCost() + bill.getTimeCost() + bill.getEBikeSurcharge());
     }
 
+    @Test
+    void totalCostMatchesBilledTotalWithoutATrip() {
+        PricingPlan withBase = new PricingPlan(UUID.randomUUID(), "Base", null, 1.50, 0.25, null,
+                PricingPlan.PlanType.PAY_AS_YOU_GO);
+        for (PricingPlan candidate : new PricingPlan[] {plan, withBase, null}) {
+            for (Bike.BikeType bikeType : Bike.BikeType.values()) {
+                for (String role : new String[] {"RIDER", "OPERATOR"}) {
+                    Trip trip = buildTrip(bikeType, role, 23);
+                    double billed = strategy.calculate(trip, candidate, 0.15).getTotalCost();
+
+                    double total = PayAsYouGoStrategy.totalCost(candidate, 23,
+                            bikeType == Bike.BikeType.E_BIKE, "OPERATOR".equals(role), 0.15);
+
+                    assertThat(total).isCloseTo(billed, within(1e-9));
+                }
+            }
+        }
+    }
+
     private Trip buildTrip(Bike.BikeType bikeType, String riderRole, int minutes) {
         LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
         LocalDateTime end = start.plusMinutes(minutes);
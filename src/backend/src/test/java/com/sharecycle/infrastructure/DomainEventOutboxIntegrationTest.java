@@ -0,0 +1,91 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.application.PaymentGatewayTestConfig;
+import com.sharecycle.domain.event.TripEndedEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PaymentGatewayTestConfig.class)
+class DomainEventOutboxIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventOutboxIntegrationTest.class);
+
+    @Autowired
+    private SimpleDomainEventPublisher publisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void storesCommittedEventsAndDiscardsRolledBackOnes() throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        long rolledBack = tx.execute(status -> {
+            publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+            status.setRollbackOnly();
+            return publisher.lastSequence();
+        });
+        long committed = tx.execute(status -> {
+            publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+            return publisher.lastSequence();
+        });
+
+        assertThat(awaitRowsAfter(committed - 1, 1, 10)).isTrue();
+        assertThat(countWithSequence(rolledBack)).isZero();
+        assertThat(countWithSequence(committed)).isEqualTo(1);
+    }
+
+    @Test
+    void flushesLargeVolumesInBatches() throws InterruptedException {
+        int events = 10_000;
+        long start = publisher.lastSequence();
+
+        long began = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+        }
+        boolean done = awaitRowsAfter(start, events, 60);
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+        assertThat(done).isTrue();
+        logger.info("outbox stored {} domain events in {} s ({} inserts/s)",
+                events, "%.2f".formatted(seconds), Math.round(events / seconds));
+    }
+
+    private boolean awaitRowsAfter(long sequence, int expected, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            Integer count = jdbcTemplate.queryForObject(
+                    "select count(*) from domain_event where sequence_no > ?", Integer.class, sequence);
+            if (count != null && count >= expected) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private int countWithSequence(long sequence) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from domain_event where sequence_no = ?", Integer.class, sequence);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.application.PaymentGatewayTestConfig;
+import com.sharecycle.domain.event.TripEndedEvent;
+import com.sharecycle.infrastructure.dto.EventHistoryPage;
+import com.sharecycle.infrastructure.dto.EventHistoryQuery;
+import com.sharecycle.infrastructure.persistence.JpaDomainEventRepository;
+import com.sharecycle.infrastructure.persistence.jpa.JpaDomainEventEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PaymentGatewayTestConfig.class)
+class DomainEventRetentionIntegrationTest {
+
+    @Autowired
+    private DomainEventRetention retention;
+
+    @Autowired
+    private DomainEventLog eventLog;
+
+    @Autowired
+    private JpaDomainEventRepository repository;
+
+    @Autowired
+    private SimpleDomainEventPublisher publisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesAgedEventsToTheArchiveAndPagesAcrossBoth() {
+        UUID tripId = UUID.randomUUID();
+        long base = publisher.lastSequence() + 1_000_000;
+        LocalDateTime now = LocalDateTime.now();
+        store(tripId, base + 1, now.minusDays(120));
+        store(tripId, base + 2, now.minusDays(10));
+        store(tripId, base + 3, now.minusDays(9));
+        store(tripId, base + 10, now);
+
+        DomainEventRetention.RetentionReport report = retention.enforce(Instant.now());
+
+        assertThat(report.archived()).isGreaterThanOrEqualTo(3);
+        assertThat(report.pruned()).isGreaterThanOrEqualTo(1);
+        assertThat(countFor("domain_event", tripId)).isEqualTo(1);
+        assertThat(countFor("domain_event_archive", tripId)).isEqualTo(2);
+
+        EventHistoryPage liveOnly = eventLog.history(new EventHistoryQuery(null, null, null, tripId, null, 10, false));
+        assertThat(liveOnly.events()).extracting(EventHistoryPage.Entry::sequence).containsExactly(base + 10);
+        assertThat(liveOnly.nextBefore()).isNull();
+
+        EventHistoryPage first = eventLog.history(new EventHistoryQuery(null, null, null, tripId, null, 2, true));
+        assertThat(first.events()).extracting(EventHistoryPage.Entry::sequence).containsExactly(base + 10, base + 3);
+        assertThat(first.nextBefore()).isEqualTo(base + 3);
+
+        EventHistoryPage second = eventLog.history(
+                new EventHistoryQuery(null, null, null, tripId, first.nextBefore(), 2, true));
+        assertThat(second.events()).extracting(EventHistoryPage.Entry::sequence).containsExactly(base + 2);
+        assertThat(second.nextBefore()).isNull();
+    }
+
+    @Test
+    void archivesEverythingUpToTheSequenceCutoffEvenWhenTimesAreOutOfOrder() {
+        UUID tripId = UUID.randomUUID();
+        long base = publisher.lastSequence() + 2_000_000;
+        LocalDateTime now = LocalDateTime.now();
+        store(tripId, base + 1, now.minusDays(10));
+        // Numbered before an aged event but stamped recently, as when commits interleave.
+        store(tripId, base + 2, now.minusDays(1));
+        store(tripId, base + 3, now.minusDays(9));
+        store(tripId, base + 10, now);
+
+        retention.enforce(Instant.now());
+
+        assertThat(countFor("domain_event", tripId)).isEqualTo(1);
+        assertThat(countFor("domain_event_archive", tripId)).isEqualTo(3);
+        EventHistoryPage all = eventLog.history(new EventHistoryQuery(null, null, null, tripId, null, 10, true));
+        assertThat(all.events()).extracting(EventHistoryPage.Entry::sequence)
+                .containsExactly(base + 10, base + 3, base + 2, base + 1);
+    }
+
+    private void store(UUID tripId, long sequence, LocalDateTime endedAt) {
+        repository.save(JpaDomainEventEntity.fromEvent(
+                new TripEndedEvent(tripId, null, null, null, null, endedAt), sequence));
+    }
+
+    private int countFor(String table, UUID tripId) {
+        byte[] id = ByteBuffer.allocate(16)
+                .putLong(tripId.getMostSignificantBits())
+                .putLong(tripId.getLeastSignificantBits())
+                .array();
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from " + table + " where trip_id = ?", Integer.class, id);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.TripEndedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequencedEventRingTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new SequencedEventRing(200).capacity()).isEqualTo(256);
+        assertThat(new SequencedEventRing(16).capacity()).isEqualTo(16);
+    }
+
+    @Test
+    void appendAssignsIncreasingSequences() {
+        SequencedEventRing ring = new SequencedEventRing(16);
+        long first = ring.append(new TripEndedEvent(UUID.randomUUID()));
+        long second = ring.append(new TripEndedEvent(UUID.randomUUID()));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(ring.lastSequence()).isEqualTo(2);
+    }
+
+    @Test
+    void readSinceReturnsOnlyNewerEventsOldestFirst() {
+        SequencedEventRing ring = new SequencedEventRing(16);
+        for (int i = 0; i < 5; i++) {
+            ring.append(new TripEndedEvent(UUID.randomUUID()));
+        }
+
+        List<SequencedEvent> events = ring.readSince(3);
+
+        assertThat(events).extracting(SequencedEvent::sequence).containsExactly(4L, 5L);
+        assertThat(ring.readSince(5)).isEmpty();
+    }
+
+    @Test
+    void overwrittenEventsAreNoLongerReadable() {
+        SequencedEventRing ring = new SequencedEventRing(16);
+        for (int i = 0; i < 40; i++) {
+            ring.append(new TripEndedEvent(UUID.randomUUID()));
+        }
+
+        assertThat(ring.firstAvailableSequence()).isEqualTo(25);
+        assertThat(ring.readSince(0)).extracting(SequencedEvent::sequence)
+                .first().isEqualTo(25L);
+        assertThat(ring.readSince(0)).hasSize(16);
+        assertThat(ring.latest(3)).extracting(SequencedEvent::sequence).containsExactly(40L, 39L, 38L);
+    }
+
+    @Test
+    void resumeAfterContinuesNumberingAndHidesOlderSequences() {
+        SequencedEventRing ring = new SequencedEventRing(16);
+        ring.resumeAfter(1000);
+
+        assertThat(ring.firstAvailableSequence()).isEqualTo(1001);
+        assertThat(ring.readSince(0)).isEmpty();
+
+        long next = ring.append(new TripEndedEvent(UUID.randomUUID()));
+
+        assertThat(next).isEqualTo(1001);
+        assertThat(ring.readSince(990)).extracting(SequencedEvent::sequence).containsExactly(1001L);
+        assertThat(ring.latest(5)).extracting(SequencedEvent::sequence).containsExactly(1001L);
+    }
+}
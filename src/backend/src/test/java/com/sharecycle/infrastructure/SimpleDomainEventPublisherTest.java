@@ -0,0 +1,169 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.DomainEventSubscriber;
+import com.sharecycle.domain.event.TripEndedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimpleDomainEventPublisherTest {
+
+    @Test
+    void asyncSubscriberDoesNotBlockPublisher() throws Exception {
+        SimpleDomainEventPublisher publisher =
+                new SimpleDomainEventPublisher(16, DispatchMode.ASYNC, 8, OverflowPolicy.DROP_OLDEST, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(3);
+        publisher.subscribe(event -> {
+            awaitQuietly(release);
+            received.countDown();
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(500);
+        release.countDown();
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.shutdown();
+    }
+
+    @Test
+    void dropOldestKeepsNewestEventsAndReportsDrops() throws Exception {
+        SimpleDomainEventPublisher publisher =
+                new SimpleDomainEventPublisher(16, DispatchMode.ASYNC, 2, OverflowPolicy.DROP_OLDEST, 0);
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<DomainEvent> delivered = new CopyOnWriteArrayList<>();
+        publisher.subscribe(event -> {
+            firstTaken.countDown();
+            awaitQuietly(release);
+            delivered.add(event);
+        });
+
+        List<TripEndedEvent> events = List.of(
+                new TripEndedEvent(UUID.randomUUID()),
+                new TripEndedEvent(UUID.randomUUID()),
+                new TripEndedEvent(UUID.randomUUID()),
+                new TripEndedEvent(UUID.randomUUID()));
+        publisher.publish(events.get(0));
+        assertThat(firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+        events.subList(1, 4).forEach(publisher::publish);
+
+        SimpleDomainEventPublisher.SubscriberStats stats = publisher.subscriberStats().get(0);
+        assertThat(stats.dropped()).isEqualTo(1);
+        assertThat(stats.queueDepth()).isEqualTo(2);
+        assertThat(stats.lag()).isEqualTo(4);
+
+        release.countDown();
+        awaitDelivered(delivered, 3);
+        assertThat(delivered).containsExactly(events.get(0), events.get(2), events.get(3));
+        publisher.shutdown();
+    }
+
+    @Test
+    void dropSubscriberUnsubscribesAndNotifies() throws Exception {
+        SimpleDomainEventPublisher publisher =
+                new SimpleDomainEventPublisher(16, DispatchMode.ASYNC, 1, OverflowPolicy.DROP_SUBSCRIBER, 0);
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        publisher.subscribe(new DomainEventSubscriber() {
+            @Override
+            public void onEvent(DomainEvent event) {
+                firstTaken.countDown();
+                awaitQuietly(release);
+            }
+
+            @Override
+            public void onDropped() {
+                dropped.countDown();
+            }
+        });
+
+        publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+        assertThat(firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+        publisher.publish(new TripEndedEvent(UUID.randomUUID()));
+
+        assertThat(dropped.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(publisher.subscriberStats()).isEmpty();
+        release.countDown();
+        publisher.shutdown();
+    }
+
+    @Test
+    void syncSubscriberIsCalledInline() {
+        SimpleDomainEventPublisher publisher = new SimpleDomainEventPublisher();
+        List<DomainEvent> delivered = new CopyOnWriteArrayList<>();
+        publisher.subscribe(delivered::add);
+
+        TripEndedEvent event = new TripEndedEvent(UUID.randomUUID());
+        publisher.publish(event);
+
+        assertThat(delivered).containsExactly(event);
+        assertThat(publisher.subscriberStats().get(0).lag()).isZero();
+    }
+
+    @Test
+    void recentEventsAreCappedAtTheConfiguredCapacity() {
+        SimpleDomainEventPublisher publisher = new SimpleDomainEventPublisher(200);
+        TripEndedEvent last = null;
+        for (int i = 0; i < 300; i++) {
+            last = new TripEndedEvent(UUID.randomUUID());
+            publisher.publish(last);
+        }
+
+        List<DomainEvent> recent = publisher.recentEvents();
+
+        assertThat(recent).hasSize(200);
+        assertThat(recent.get(0)).isSameAs(last);
+    }
+
+    @Test
+    void mailboxCountsFailingItemsAsFailedNotDelivered() throws Exception {
+        BoundedMailbox<Integer> mailbox = new BoundedMailbox<>("failing", 8, OverflowPolicy.DROP_OLDEST, 0,
+                item -> {
+                    if (item % 2 == 1) {
+                        throw new IllegalStateException("odd item " + item);
+                    }
+                }, null);
+        for (int i = 0; i < 4; i++) {
+            mailbox.offer(i);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mailbox.deliveredCount() + mailbox.failedCount() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(mailbox.deliveredCount()).isEqualTo(2);
+        assertThat(mailbox.failedCount()).isEqualTo(2);
+        mailbox.close();
+    }
+
+    private static void awaitDelivered(List<DomainEvent> delivered, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delivered.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.sharecycle.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharecycle.domain.event.BikeMovedEvent;
+import com.sharecycle.domain.event.FlexCreditAddedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseFanoutHubTest {
+
+    private SimpleDomainEventPublisher publisher;
+    private SseFanoutHub hub;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new SimpleDomainEventPublisher(200, DispatchMode.SYNC, 1024, OverflowPolicy.DROP_OLDEST, 1000);
+        hub = new SseFanoutHub(publisher, null, 256, OverflowPolicy.DROP_SUBSCRIBER, 250, 65536, new ObjectMapper()) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return new CapturingEmitter(timeoutMillis);
+            }
+        };
+        hub.attach();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.detach();
+        publisher.shutdown();
+    }
+
+    @Test
+    void encodesSingleLineFrame() {
+        byte[] frame = SseFanoutHub.encode(42, "TripEndedEvent", "10:15:00 - Trip ended.");
+
+        assertThat(new String(frame, StandardCharsets.UTF_8))
+                .isEqualTo("id:42\nevent:TripEndedEvent\ndata:10:15:00 - Trip ended.\n\n");
+    }
+
+    @Test
+    void splitsMultiLineDataIntoSeparateDataFields() {
+        byte[] frame = SseFanoutHub.encode(7, "TierUpdatedEvent", "first\nsecond\r\nthird");
+
+        assertThat(new String(frame, StandardCharsets.UTF_8))
+                .isEqualTo("id:7\nevent:TierUpdatedEvent\ndata:first\ndata:second\ndata:third\n\n");
+    }
+
+    @Test
+    void privateEventsReachOnlyTheOwnerAndOperatorsWhilePublicEventsReachEveryone() throws InterruptedException {
+        UUID ownerId = UUID.randomUUID();
+        CapturingEmitter operator = open(UUID.randomUUID(), true);
+        CapturingEmitter owner = open(ownerId, false);
+        CapturingEmitter otherRider = open(UUID.randomUUID(), false);
+        CapturingEmitter anonymous = open(null, false);
+
+        publisher.publish(new FlexCreditAddedEvent(ownerId, 2.0));
+        publisher.publish(new BikeMovedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+        // Each connection receives frames in order, so once the public event is in every private one is too.
+        for (CapturingEmitter emitter : List.of(operator, owner, otherRider, anonymous)) {
+            emitter.awaitEvent("BikeMovedEvent");
+        }
+        assertThat(operator.eventNames()).containsExactly("FlexCreditAddedEvent", "BikeMovedEvent");
+        assertThat(owner.eventNames()).containsExactly("FlexCreditAddedEvent", "BikeMovedEvent");
+        assertThat(otherRider.eventNames()).containsExactly("BikeMovedEvent");
+        assertThat(anonymous.eventNames()).containsExactly("BikeMovedEvent");
+    }
+
+    @Test
+    void anOwnersPrivateEventsAreNotSentToOtherRidersOfTheSameRole() throws InterruptedException {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        CapturingEmitter first = open(firstId, false);
+        CapturingEmitter second = open(secondId, false);
+
+        publisher.publish(new FlexCreditAddedEvent(firstId, 1.0));
+        publisher.publish(new FlexCreditAddedEvent(secondId, 1.0));
+        publisher.publish(new BikeMovedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+        first.awaitEvent("BikeMovedEvent");
+        second.awaitEvent("BikeMovedEvent");
+        assertThat(first.frames).filteredOn(frame -> frame.contains("FlexCreditAddedEvent")).hasSize(1);
+        assertThat(second.frames).filteredOn(frame -> frame.contains("FlexCreditAddedEvent")).hasSize(1);
+    }
+
+    @Test
+    void evictionClosesConnectionsAndKeepsTheHubSubscribed() throws InterruptedException {
+        CapturingEmitter before = open(UUID.randomUUID(), false);
+
+        hub.onDropped();
+
+        assertThat(before.completed).isTrue();
+        assertThat(hub.connectionCount()).isZero();
+
+        CapturingEmitter after = open(UUID.randomUUID(), false);
+        publisher.publish(new BikeMovedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+        after.awaitEvent("BikeMovedEvent");
+    }
+
+    @Test
+    void freshConnectionReplaysOnlyTheConfiguredWindow() {
+        for (int i = 0; i < 210; i++) {
+            publisher.publish(new BikeMovedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+        }
+
+        CapturingEmitter emitter = open(UUID.randomUUID(), true);
+
+        // Configured for 200 events; the ring itself rounds up to 256 slots.
+        assertThat(emitter.eventNames()).hasSize(200);
+        assertThat(emitter.frames.get(0)).startsWith("id:11\n");
+        assertThat(emitter.frames.get(emitter.frames.size() - 1)).startsWith("id:210\n");
+    }
+
+    private CapturingEmitter open(UUID userId, boolean isOperator) {
+        return (CapturingEmitter) hub.open(userId, isOperator, null, 60_000);
+    }
+
+    private static final class CapturingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        private CapturingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            for (ResponseBodyEmitter.DataWithMediaType item : items) {
+                frames.add(new String((byte[]) item.getData(), StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private List<String> eventNames() {
+            return frames.stream()
+                    .flatMap(frame -> frame.lines().filter(line -> line.startsWith("event:")))
+                    .map(line -> line.substring("event:".length()))
+                    .toList();
+        }
+
+        private void awaitEvent(String name) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!eventNames().contains(name)) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new AssertionError("timed out waiting for " + name + "; got " + eventNames());
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.BikeStatusChangedEvent;
+import com.sharecycle.domain.event.StationCapacityChangedEvent;
+import com.sharecycle.domain.event.StationStatusChangedEvent;
+import com.sharecycle.domain.event.TripEndedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationDeltaCoalescerTest {
+
+    @Test
+    void mergesBurstOnOneStationIntoLatestState() {
+        UUID stationId = UUID.randomUUID();
+        UUID bikeId = UUID.randomUUID();
+        StationDeltaCoalescer coalescer = new StationDeltaCoalescer();
+
+        for (int docked = 1; docked <= 30; docked++) {
+            coalescer.add(docked, new StationStatusChangedEvent(stationId, Station.StationStatus.OCCUPIED, 40, docked));
+        }
+        coalescer.add(31, new BikeStatusChangedEvent(bikeId, Bike.BikeStatus.RESERVED, stationId, null));
+        coalescer.add(32, new BikeStatusChangedEvent(bikeId, Bike.BikeStatus.AVAILABLE, stationId, null));
+        coalescer.add(33, new StationCapacityChangedEvent(stationId, 35, 30, 5));
+
+        List<StationDelta> deltas = coalescer.drain();
+
+        assertThat(deltas).singleElement().isEqualTo(new StationDelta(stationId, Station.StationStatus.OCCUPIED,
+                35, 30, 5, Map.of(bikeId, Bike.BikeStatus.AVAILABLE), 33, 1, 33));
+        assertThat(coalescer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keepsStationsApart() {
+        StationDeltaCoalescer coalescer = new StationDeltaCoalescer();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        coalescer.add(1, new StationStatusChangedEvent(first, Station.StationStatus.EMPTY, 10, 0));
+        coalescer.add(2, new StationStatusChangedEvent(second, Station.StationStatus.FULL, 10, 10));
+
+        assertThat(coalescer.drain()).extracting(StationDelta::stationId).containsExactly(first, second);
+    }
+
+    @Test
+    void onlyAcceptsStationScopedEvents() {
+        assertThat(StationDeltaCoalescer.accepts(
+                new BikeStatusChangedEvent(UUID.randomUUID(), Bike.BikeStatus.ON_TRIP, null, null))).isFalse();
+        assertThat(StationDeltaCoalescer.accepts(new TripEndedEvent(UUID.randomUUID()))).isFalse();
+        assertThat(StationDeltaCoalescer.accepts(
+                new StationCapacityChangedEvent(UUID.randomUUID(), 10, 2, 8))).isTrue();
+    }
+}
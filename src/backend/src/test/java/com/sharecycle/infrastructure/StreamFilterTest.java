@@ -0,0 +1,61 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.domain.event.BikeMovedEvent;
+import com.sharecycle.domain.event.StationStatusChangedEvent;
+import com.sharecycle.domain.event.TripBilledEvent;
+import com.sharecycle.domain.model.Station;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamFilterTest {
+
+    private final UUID kiosk = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    @Test
+    void noRestrictionsCompileToAll() {
+        assertThat(StreamFilter.of(null, null)).isSameAs(StreamFilter.ALL);
+        assertThat(StreamFilter.of(List.of(), null)).isSameAs(StreamFilter.ALL);
+    }
+
+    @Test
+    void stationRestrictionMatchesEitherEndOfABikeMove() {
+        StreamFilter filter = StreamFilter.of(null, List.of(kiosk));
+        UUID[] moved = StreamFilter.stationsOf(new BikeMovedEvent(UUID.randomUUID(), kiosk, other));
+
+        assertThat(moved).containsExactlyInAnyOrder(kiosk, other);
+        assertThat(filter.matches("BikeMovedEvent", moved)).isTrue();
+        assertThat(filter.matches("BikeMovedEvent",
+                StreamFilter.stationsOf(new BikeMovedEvent(UUID.randomUUID(), other, UUID.randomUUID())))).isFalse();
+    }
+
+    @Test
+    void stationRestrictionDropsEventsWithoutAStation() {
+        StreamFilter filter = StreamFilter.of(null, List.of(kiosk));
+        UUID[] none = StreamFilter.stationsOf(new TripBilledEvent(UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThat(none).isEmpty();
+        assertThat(filter.matches("TripBilledEvent", none)).isFalse();
+    }
+
+    @Test
+    void typesAndStationsMustBothMatch() {
+        StreamFilter filter = StreamFilter.of(List.of("StationStatusChangedEvent"), List.of(kiosk));
+        UUID[] stations = StreamFilter.stationsOf(
+                new StationStatusChangedEvent(kiosk, Station.StationStatus.FULL, 10, 10));
+
+        assertThat(filter.matches("StationStatusChangedEvent", stations)).isTrue();
+        assertThat(filter.matches("StationDelta", stations)).isFalse();
+    }
+
+    @Test
+    void emptyBoundingBoxMatchesNoStationEvents() {
+        StreamFilter filter = StreamFilter.of(null, List.of());
+
+        assertThat(filter.matches("StationDelta", new UUID[]{kiosk})).isFalse();
+    }
+}
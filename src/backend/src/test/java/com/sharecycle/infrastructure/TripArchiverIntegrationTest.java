@@ -0,0 +1,177 @@
+package com.sharecycle.infrastructure;
+
+import com.sharecycle.application.ListTripsUseCase;
+import com.sharecycle.application.PaymentGatewayTestConfig;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Bill;
+import com.sharecycle.domain.model.LedgerEntry;
+import com.sharecycle.domain.model.Rider;
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.domain.model.Trip;
+import com.sharecycle.domain.repository.JpaBikeRepository;
+import com.sharecycle.domain.repository.JpaLedgerEntryRepository;
+import com.sharecycle.infrastructure.persistence.JpaTripRepository;
+import com.sharecycle.infrastructure.persistence.JpaUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(PaymentGatewayTestConfig.class)
+class TripArchiverIntegrationTest {
+
+    @Autowired
+    private TripArchiver archiver;
+
+    @Autowired
+    private ListTripsUseCase listTripsUseCase;
+
+    @Autowired
+    private JpaTripRepository tripRepository;
+
+    @Autowired
+    private JpaLedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private JpaBikeRepository bikeRepository;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @Transactional
+    void movesOldSettledTripsAndReadsHistoryAcrossBothTables() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Rider rider = createRider();
+        Trip recent = persistTrip(rider, now.minusDays(3), LedgerEntry.LedgerStatus.PAID);
+        Trip oldPending = persistTrip(rider, now.minusMonths(14), LedgerEntry.LedgerStatus.PENDING);
+        Trip oldPaid = persistTrip(rider, now.minusMonths(15), LedgerEntry.LedgerStatus.PAID);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(archiver.archive(now)).isGreaterThanOrEqualTo(1);
+
+        assertThat(countFor("trips", oldPaid.getTripID())).isZero();
+        assertThat(countFor("trip_archive", oldPaid.getTripID())).isEqualTo(1);
+        assertThat(countFor("ledger_entry", oldPaid.getTripID())).isZero();
+        assertThat(countFor("ledger_entry_archive", oldPaid.getTripID())).isEqualTo(1);
+        assertThat(countFor("trips", oldPending.getTripID())).isEqualTo(1);
+        assertThat(countFor("trips", recent.getTripID())).isEqualTo(1);
+
+        ListTripsUseCase.TripHistoryPage page = listTripsUseCase.execute(
+                rider, null, null, null, 0, 8, null, "RIDER");
+        assertThat(page.totalItems()).isEqualTo(3);
+        assertThat(page.entries()).extracting(ListTripsUseCase.TripHistoryEntry::tripId)
+                .containsExactly(recent.getTripID(), oldPending.getTripID(), oldPaid.getTripID());
+        ListTripsUseCase.TripHistoryEntry archived = page.entries().get(2);
+        assertThat(archived.totalCost()).isEqualTo(3.0);
+        assertThat(archived.ledgerStatus()).isEqualTo(LedgerEntry.LedgerStatus.PAID);
+        assertThat(archived.startStationName()).startsWith("Start-");
+
+        List<UUID> cursorOrder = new ArrayList<>();
+        String cursor = null;
+        do {
+            ListTripsUseCase.TripHistoryCursorPage cursorPage = listTripsUseCase.executeAfterCursor(
+                    rider, null, null, null, null, cursor, 1, false, "RIDER");
+            cursorPage.entries().forEach(entry -> cursorOrder.add(entry.tripId()));
+            cursor = cursorPage.nextCursor();
+        } while (cursor != null);
+        assertThat(cursorOrder).containsExactly(recent.getTripID(), oldPending.getTripID(), oldPaid.getTripID());
+
+        ListTripsUseCase.TripHistoryPage recentOnly = listTripsUseCase.execute(
+                rider, now.minusMonths(1), null, null, 0, 8, null, "RIDER");
+        assertThat(recentOnly.entries()).extracting(ListTripsUseCase.TripHistoryEntry::tripId)
+                .containsExactly(recent.getTripID());
+    }
+
+    @Test
+    @Transactional
+    void archivedTripOutlivingItsBikeIsStillPagedAndCounted() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Rider rider = createRider();
+        Trip recent = persistTrip(rider, now.minusDays(3), LedgerEntry.LedgerStatus.PAID);
+        Trip orphaned = persistTrip(rider, now.minusMonths(15), LedgerEntry.LedgerStatus.PAID);
+        entityManager.flush();
+        entityManager.clear();
+        archiver.archive(now);
+        // trip_archive keeps no foreign keys, so the bike row can go away underneath it.
+        jdbcTemplate.update("delete from bike where bike_id = ?", toBytes(orphaned.getBike().getId()));
+
+        ListTripsUseCase.TripHistoryPage page = listTripsUseCase.execute(
+                rider, null, null, null, 0, 8, null, "RIDER");
+
+        assertThat(page.totalItems()).isEqualTo(2);
+        assertThat(page.entries()).extracting(ListTripsUseCase.TripHistoryEntry::tripId)
+                .containsExactly(recent.getTripID(), orphaned.getTripID());
+    }
+
+    private Trip persistTrip(Rider rider, LocalDateTime end, LedgerEntry.LedgerStatus ledgerStatus) {
+        Bike bike = new Bike();
+        bike.setId(UUID.randomUUID());
+        bike.setStatus(Bike.BikeStatus.AVAILABLE);
+        bike.setType(Bike.BikeType.STANDARD);
+        bikeRepository.save(bike);
+
+        Station startStation = new Station();
+        startStation.setName("Start-" + UUID.randomUUID());
+        Station endStation = new Station();
+        endStation.setName("End-" + UUID.randomUUID());
+
+        Trip trip = new Trip(UUID.randomUUID(), end.minusMinutes(20), end, rider, bike, startStation, endStation);
+        tripRepository.save(trip);
+
+        LedgerEntry ledgerEntry = new LedgerEntry(rider, trip, new Bill(2.00, 1.00, 0.0), "PAYG");
+        ledgerEntry.setLedgerStatus(ledgerStatus);
+        ledgerEntryRepository.save(ledgerEntry);
+        return trip;
+    }
+
+    private Rider createRider() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Rider rider = new Rider();
+        rider.setUserId(UUID.randomUUID());
+        rider.setFullName("Archive Rider");
+        rider.setEmail("archive-" + suffix + "@example.com");
+        rider.setUsername("archive-" + suffix);
+        rider.setStreetAddress("123 Street");
+        rider.setRole("RIDER");
+        rider.setPasswordHash("hash");
+        rider.touchOnCreate();
+        userRepository.save(rider);
+        return rider;
+    }
+
+    private int countFor(String table, UUID tripId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from " + table + " where trip_id = ?", Integer.class, toBytes(tripId));
+        return count != null ? count : 0;
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,103 @@
+package com.sharecycle.infrastructure.codec;
+
+import com.sharecycle.domain.event.BikeStatusChangedEvent;
+import com.sharecycle.domain.event.BillIssuedEvent;
+import com.sharecycle.domain.event.DomainEvent;
+import com.sharecycle.domain.event.ReservationCreatedEvent;
+import com.sharecycle.domain.event.TierUpdatedEvent;
+import com.sharecycle.domain.event.TripStartedEvent;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.LoyaltyTier;
+import com.sharecycle.domain.model.Rider;
+import com.sharecycle.domain.model.Station;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecRegistryTest {
+
+    private final EventCodecRegistry codecs = EventCodecRegistry.standard();
+
+    @Test
+    void recordEventsRoundTrip() {
+        LocalDateTime at = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+        List<DomainEvent> events = List.of(
+                new BillIssuedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                        at, 1.0, 2.5, 0.75, 4.25, "Pay as you go", 0.1, 0.42, 0.0),
+                new BikeStatusChangedEvent(UUID.randomUUID(), Bike.BikeStatus.MAINTENANCE, null, at),
+                new TierUpdatedEvent(UUID.randomUUID(), LoyaltyTier.BRONZE, LoyaltyTier.SILVER, "Ten trips", at)
+        );
+
+        for (DomainEvent event : events) {
+            byte[] payload = codecs.encode(event);
+
+            assertThat(codecs.decode(payload)).contains(event);
+        }
+    }
+
+    @Test
+    void classEventsAndAggregateReferencesKeepTheirIdentifiers() {
+        UUID reservationId = UUID.randomUUID();
+        UUID riderId = UUID.randomUUID();
+        ReservationCreatedEvent reservation = new ReservationCreatedEvent(reservationId, riderId);
+
+        ReservationCreatedEvent decodedReservation =
+                (ReservationCreatedEvent) codecs.decode(codecs.encode(reservation)).orElseThrow();
+
+        assertThat(decodedReservation.getReservationId()).isEqualTo(reservationId);
+        assertThat(decodedReservation.getRiderId()).isEqualTo(riderId);
+
+        Rider rider = new Rider();
+        rider.setUserId(riderId);
+        Bike bike = new Bike(Bike.BikeType.E_BIKE);
+        Station station = new Station();
+        TripStartedEvent started = new TripStartedEvent(UUID.randomUUID(), LocalDateTime.now(), null, 0,
+                rider, bike, station, null);
+
+        TripStartedEvent decoded = (TripStartedEvent) codecs.decode(codecs.encode(started)).orElseThrow();
+
+        assertThat(decoded.tripID()).isEqualTo(started.tripID());
+        assertThat(decoded.rider().getUserId()).isEqualTo(riderId);
+        assertThat(decoded.bike().getId()).isEqualTo(bike.getId());
+        assertThat(decoded.bike().getType()).isEqualTo(Bike.BikeType.E_BIKE);
+        assertThat(decoded.startStation().getId()).isEqualTo(station.getId());
+        assertThat(decoded.endStation()).isNull();
+        assertThat(codecs.keysOf(started))
+                .isEqualTo(new EventKeys(riderId, station.getId(), bike.getId(), started.tripID()));
+    }
+
+    @Test
+    void payloadIsSmallerThanTextualForm() {
+        BillIssuedEvent event = new BillIssuedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), LocalDateTime.now(), 1.0, 2.5, 0.75, 4.25, "Pay as you go", 0.1, 0.42, 0.0);
+
+        assertThat(codecs.encode(event).length).isLessThan(event.toString().length() / 2);
+    }
+
+    @Test
+    void rejectsPayloadsFromNewerLayouts() {
+        byte[] payload = new EventOutput(8)
+                .writeByte(EventCodecRegistry.FORMAT)
+                .writeVarInt(2)
+                .writeVarInt(99)
+                .toByteArray();
+
+        assertThatThrownBy(() -> codecs.decode(payload)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unknownTypeIdsDecodeToEmpty() {
+        byte[] payload = new EventOutput(8)
+                .writeByte(EventCodecRegistry.FORMAT)
+                .writeVarInt(9_999)
+                .writeVarInt(1)
+                .toByteArray();
+
+        assertThat(codecs.decode(payload)).isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package com.sharecycle.infrastructure.persistence;
+
+import com.sharecycle.application.PaymentGatewayTestConfig;
+import com.sharecycle.domain.model.Bike;
+import com.sharecycle.domain.model.Station;
+import com.sharecycle.domain.repository.JpaStationRepository;
+import com.sharecycle.model.dto.StationSummaryDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(PaymentGatewayTestConfig.class)
+class JpaStationRepositoryImplTest {
+
+    @Autowired
+    private JpaStationRepository stationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void listingStationsTakesTheSameNumberOfStatementsAsTheNetworkGrows() {
+        saveStations(3);
+        long few = statementsFor(this::assertListedStationsAreHydrated);
+
+        saveStations(20);
+        long many = statementsFor(this::assertListedStationsAreHydrated);
+
+        assertThat(many).isEqualTo(few);
+        assertThat(many).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void findByIdLoadsDocksAndBikesInOneStatement() {
+        Station saved = saveStations(1);
+
+        long statements = statementsFor(() -> {
+            Station loaded = stationRepository.findById(saved.getId());
+            assertThat(loaded.getDocks()).hasSize(4);
+            assertThat(loaded.getBikesDocked()).isEqualTo(2);
+            assertThat(loaded.getEBikesAvailable()).isEqualTo(1);
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void summaryProjectionMatchesCountsDerivedFromTheDomain() {
+        Station saved = saveStations(1);
+        Station loaded = stationRepository.findById(saved.getId());
+
+        StationSummaryDto summary = stationRepository.findSummariesByIds(List.of(saved.getId())).get(0);
+
+        assertThat(summary.getCapacity()).isEqualTo(loaded.getCapacity()).isEqualTo(4);
+        assertThat(summary.getBikesDocked()).isEqualTo(loaded.getBikesDocked()).isEqualTo(2);
+        assertThat(summary.getBikesAvailable()).isEqualTo(loaded.getAvailableBikeCount());
+        assertThat(summary.getEBikesDocked()).isEqualTo(loaded.getEBikesDocked());
+        assertThat(summary.getEBikesAvailable()).isEqualTo(loaded.getEBikesAvailable());
+        assertThat(summary.getFreeDocks()).isEqualTo(loaded.getFreeDockCount());
+        assertThat(summary.getStatus()).isEqualTo(loaded.getStatus());
+        assertThat(summary.getFullnessCategory()).isEqualTo(loaded.getFullnessCategory());
+    }
+
+    private void assertListedStationsAreHydrated() {
+        List<Station> listed = stationRepository.findAll().stream()
+                .filter(station -> station.getName() != null && station.getName().startsWith("Statistics Station"))
+                .toList();
+        assertThat(listed).isNotEmpty().allSatisfy(station -> {
+            assertThat(station.getDocks()).hasSize(4);
+            assertThat(station.getBikesDocked()).isEqualTo(2);
+            assertThat(station.getEBikesDocked()).isEqualTo(1);
+        });
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Station saveStations(int count) {
+        Station last = null;
+        for (int i = 0; i < count; i++) {
+            Station station = new Station();
+            station.setName("Statistics Station " + i);
+            station.setLatitude(45.5 + i * 0.001);
+            station.setLongitude(-73.6);
+            station.markActive();
+            station.addEmptyDocks(4);
+            station.getDocks().get(0).setOccupiedBike(new Bike(Bike.BikeType.STANDARD));
+            station.getDocks().get(1).setOccupiedBike(new Bike(Bike.BikeType.E_BIKE));
+            stationRepository.save(station);
+            last = station;
+        }
+        return last;
+    }
+}
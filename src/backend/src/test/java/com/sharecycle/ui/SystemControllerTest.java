@@ -1,6 +1,7 @@
 package com.sharecycle.ui;
 
 import com.sharecycle.application.ResetSystemUseCase;
+import com.sharecycle.application.StationSummaryReadModel;
 import com.sharecycle.domain.model.Operator;
 import com.sharecycle.domain.model.Rider;
 import com.sharecycle.domain.model.PricingPlan;
@@ -30,7 +31,9 @@ class SystemControllerTest {
     @BeforeEach
     void setUp() {
         resetSystemUseCase = Mockito.mock(ResetSystemUseCase.class);
-        mockMvc = MockMvcBuilders.standaloneSetup(new SystemController(resetSystemUseCase)).build();
+        StationSummaryReadModel stationSummaryReadModel = Mockito.mock(StationSummaryReadModel.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new SystemController(resetSystemUseCase, stationSummaryReadModel)).build();
     }
 
     @AfterEach